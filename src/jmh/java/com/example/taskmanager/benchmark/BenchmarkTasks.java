@@ -0,0 +1,41 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskStatus;
+import com.example.taskmanager.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory tasks for the mapping and serialization benchmarks, with titles and descriptions of typical length.
+ */
+final class BenchmarkTasks {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private BenchmarkTasks() {
+    }
+
+    static List<Task> tasks(int count) {
+        User owner = new User();
+        owner.setId(1L);
+        owner.setUsername("user");
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setId((long) i + 1);
+            task.setTitle("Task " + i + ": prepare the quarterly report");
+            task.setDescription("Collect the figures from every team, check them against last quarter and write up "
+                    + "the notable changes before the review meeting. Item " + i + ".");
+            task.setStatus(STATUSES[i % STATUSES.length]);
+            task.setUser(owner);
+            task.setCreatedAt(now.minusMinutes(i));
+            task.setUpdatedAt(now.minusMinutes(i));
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
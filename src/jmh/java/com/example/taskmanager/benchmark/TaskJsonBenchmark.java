@@ -0,0 +1,48 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.mapper.TaskMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a {@code List<TaskDto>}, the body of the task list endpoints, at several sizes.
+ * The mapper is configured by the same builder Spring Boot uses for HTTP message conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskJsonBenchmark {
+
+    @Param({"1", "20", "100", "1000"})
+    public int size;
+
+    private List<TaskDto> tasks;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        TaskMapper taskMapper = new TaskMapper();
+        tasks = BenchmarkTasks.tasks(size).stream().map(taskMapper::toDto).toList();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, TaskDto.class));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(tasks);
+    }
+}
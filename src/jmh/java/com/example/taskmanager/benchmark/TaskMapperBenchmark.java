@@ -0,0 +1,43 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.mapper.TaskMapper;
+import com.example.taskmanager.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskMapper#toDto} for a single task.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskMapperBenchmark {
+
+    private static final int TASKS = 1024;
+
+    private final TaskMapper taskMapper = new TaskMapper();
+    private List<Task> tasks;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        tasks = BenchmarkTasks.tasks(TASKS);
+    }
+
+    // Cycles through the tasks so the JIT cannot fold the mapping of one constant input.
+    @Benchmark
+    public TaskDto toDto() {
+        int i = next;
+        next = (i + 1) % TASKS;
+        return taskMapper.toDto(tasks.get(i));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.TaskManagerApplication;
+import com.example.taskmanager.config.AppProperties;
+import com.example.taskmanager.datagen.SyntheticDataGenerator;
+import com.example.taskmanager.dto.CursorPage;
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.service.ITaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code TaskService.findUserTasks} against the application's embedded H2 database holding 10k, 100k and 1M tasks.
+ * <p>
+ * The data comes from {@link SyntheticDataGenerator}: the tasks belong to {@value #USERS} users in equal shares,
+ * so the queried user owns 1% of the table and the result grows with it. The first keyset page of the same user
+ * is measured alongside for comparison. The full application context is started (without the web server) so
+ * the numbers include the transactional and monitoring proxies, Hibernate and the connection limiter, exactly
+ * as a request would see them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskServiceQueryBenchmark {
+
+    private static final int USERS = 100;
+    private static final String USERNAME_PREFIX = "bench";
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private ITaskService taskService;
+    private String username;
+
+    @Setup
+    public void setUp() throws SQLException {
+        context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench" + rows + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        taskService = context.getBean(ITaskService.class);
+        seed(context.getBean(SyntheticDataGenerator.class));
+        username = USERNAME_PREFIX + 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Task> findUserTasks() {
+        return taskService.findUserTasks(username);
+    }
+
+    @Benchmark
+    public CursorPage<TaskDto> findUserTasksFirstPage() {
+        return taskService.findUserTasksPage(username, null, 20);
+    }
+
+    // Evenly spread, so the queried user owns exactly 1% of the table at every size.
+    private void seed(SyntheticDataGenerator generator) throws SQLException {
+        AppProperties.DataGenerator spec = new AppProperties.DataGenerator();
+        spec.setUsers(USERS);
+        spec.setTasks(rows);
+        spec.setZipfExponent(0);
+        spec.setUsernamePrefix(USERNAME_PREFIX);
+        generator.generate(spec);
+    }
+}
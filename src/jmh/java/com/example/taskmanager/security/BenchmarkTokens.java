@@ -0,0 +1,34 @@
+package com.example.taskmanager.security;
+
+import com.example.taskmanager.model.Role;
+import com.example.taskmanager.model.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Shared set-up for the JWT benchmarks: a {@link JwtUtil} built the way Spring would build it.
+ */
+final class BenchmarkTokens {
+
+    static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private BenchmarkTokens() {
+    }
+
+    static JwtUtil jwtUtil(long verifiedCacheSize) {
+        JwtUtil jwtUtil = new JwtUtil(new VerifiedTokenCache(verifiedCacheSize));
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setPassword("{noop}password");
+        user.setRole(Role.USER);
+        return user;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.taskmanager.security;
+
+import com.example.taskmanager.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing and validation in {@link JwtUtil}.
+ * <p>
+ * {@code cached} validates the same token over and over, which is what a client sending one token on every
+ * request costs once {@link VerifiedTokenCache} holds it. {@code uncached} cycles through distinct tokens with
+ * the cache disabled, so every call pays for the HMAC check and claims parsing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private static final int TOKENS = 1024;
+
+    @Param({"cached", "uncached"})
+    public String verification;
+
+    private JwtUtil jwtUtil;
+    private User[] users;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = BenchmarkTokens.jwtUtil("cached".equals(verification) ? 10_000 : 0);
+        int count = "cached".equals(verification) ? 1 : TOKENS;
+        users = new User[count];
+        tokens = new String[count];
+        for (int i = 0; i < count; i++) {
+            users[i] = BenchmarkTokens.user(i + 1);
+            tokens[i] = jwtUtil.generateToken(users[i]);
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(users[0]);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        int i = next;
+        next = (i + 1) % tokens.length;
+        return jwtUtil.validateToken(tokens[i], users[i]);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.taskmanager.loadtest;
+
+import com.example.taskmanager.datagen.SyntheticDataGenerator;
+import com.example.taskmanager.search.TaskSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the {@code /api/**} endpoints of the running application at a constant arrival rate and compares
+ * p50/p99/p999 per endpoint with the stored baseline. Run with {@code ./gradlew loadTest}; see
+ * {@link LoadTestSettings} for the knobs.
+ */
+@Tag("Load")
+@DisplayName("API load test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // Per-statement SQL and debug logging would dominate every latency measured here.
+        "spring.jpa.show-sql=false",
+        "logging.level.com.example.taskmanager=INFO",
+        "logging.level.org.springframework.security=INFO"
+})
+class ApiLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiLoadTest.class);
+
+    private static final String ADMIN_USERNAME = "admin";
+    private static final String ADMIN_PASSWORD = "password";
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SyntheticDataGenerator dataGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    // Seeds data, logs every user in once, drives the mix and fails on baseline regressions or errors.
+    @Test
+    @DisplayName("Latency percentiles stay within the baseline at the configured arrival rate")
+    void should_stayWithinBaseline_when_drivenAtConstantRate() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        LoadTestData data = LoadTestData.seed(settings, dataGenerator, jdbcTemplate, taskSearchIndex);
+        List<String> tokens = new ArrayList<>();
+        for (String username : data.usernames) {
+            tokens.add(login(username, LoadTestData.PASSWORD));
+        }
+        String adminToken = login(ADMIN_USERNAME, ADMIN_PASSWORD);
+        logger.info("Driving {} requests/s for {} after {} warm-up, mix {}",
+                settings.rate(), settings.duration(), settings.warmup(), settings.mix());
+
+        Map<Endpoint, OpenModelLoadGenerator.EndpointStats> stats = new OpenModelLoadGenerator(client, settings)
+                .run((endpoint, random) -> {
+                    int user = random.nextInt(tokens.size());
+                    return request(endpoint, random, data, user, tokens, adminToken);
+                });
+
+        LatencyReport report = new LatencyReport(stats);
+        report.write(settings.reportDir());
+        logger.info("Load test results (histograms in {}):\n{}", settings.reportDir(), report.table());
+
+        List<String> violations = report.violations(LatencyReport.readBaseline(settings.baseline()),
+                settings.threshold(), settings.maxErrorRate());
+        assertThat(violations).as("Endpoints slower than the baseline or failing").isEmpty();
+    }
+
+    private HttpRequest request(Endpoint endpoint, SplittableRandom random, LoadTestData data,
+                                int user, List<String> tokens, String adminToken) {
+        String token = tokens.get(user);
+        String word = LoadTestData.VOCABULARY.get(random.nextInt(LoadTestData.VOCABULARY.size()));
+        return switch (endpoint) {
+            case LOGIN -> post("/api/auth/login", null,
+                    Map.of("login", data.usernames.get(user), "password", LoadTestData.PASSWORD));
+            case LIST -> get("/api/tasks?limit=20", token);
+            case CREATE -> post("/api/tasks", token,
+                    Map.of("title", word + " follow-up", "description", "Created by the load test"));
+            case UPDATE -> {
+                int owner = data.owners.get(random.nextInt(data.owners.size()));
+                long[] ids = data.taskIds.get(owner);
+                yield json("PUT", "/api/tasks/" + ids[random.nextInt(ids.length)], tokens.get(owner),
+                        Map.of("status", STATUSES[random.nextInt(STATUSES.length)]));
+            }
+            case SEARCH -> get("/api/tasks/search?limit=20&title=" + URLEncoder.encode(word, StandardCharsets.UTF_8), token);
+            case STATS -> get("/api/admin/statistics", adminToken);
+        };
+    }
+
+    private String login(String username, String password) throws Exception {
+        HttpResponse<String> response = client.send(post("/api/auth/login", null,
+                Map.of("login", username, "password", password)), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as("Login of %s", username).isEqualTo(200);
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return builder(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, Object body) {
+        return json("POST", path, token, body);
+    }
+
+    private HttpRequest json(String method, String path, String token, Object body) {
+        try {
+            return builder(path, token)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot serialize request body for " + path, e);
+        }
+    }
+
+    private HttpRequest.Builder builder(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30));
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+}
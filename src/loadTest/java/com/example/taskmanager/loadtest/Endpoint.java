@@ -0,0 +1,23 @@
+package com.example.taskmanager.loadtest;
+
+import java.util.Locale;
+
+/**
+ * The API calls the load test mixes; each gets its own latency histogram and baseline entry.
+ */
+enum Endpoint {
+    LOGIN,
+    LIST,
+    CREATE,
+    UPDATE,
+    SEARCH,
+    STATS;
+
+    String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    static Endpoint fromKey(String key) {
+        return valueOf(key.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.taskmanager.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-endpoint percentiles of a load test run, written as HdrHistogram percentile distributions
+ * ({@code <endpoint>.hgrm}, milliseconds) and a {@code summary.json}, and checked against a baseline.
+ * <p>
+ * The summary has the same shape as the baseline, so a run that should become the new baseline is promoted
+ * by copying its {@code summary.json} over {@code src/loadTest/resources/loadtest/baseline.json}.
+ */
+final class LatencyReport {
+
+    static final String BUNDLED_BASELINE = "/loadtest/baseline.json";
+    static final List<String> PERCENTILES = List.of("p50", "p99", "p999");
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Endpoint, OpenModelLoadGenerator.EndpointStats> stats;
+
+    LatencyReport(Map<Endpoint, OpenModelLoadGenerator.EndpointStats> stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * @return Milliseconds per percentile name, plus the request and error counts, by endpoint key.
+     */
+    Map<String, Map<String, Number>> summary() {
+        Map<String, Map<String, Number>> summary = new LinkedHashMap<>();
+        stats.forEach((endpoint, endpointStats) -> {
+            Histogram histogram = endpointStats.latencies;
+            Map<String, Number> row = new LinkedHashMap<>();
+            row.put("p50", millis(histogram.getValueAtPercentile(50.0)));
+            row.put("p99", millis(histogram.getValueAtPercentile(99.0)));
+            row.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+            row.put("max", millis(histogram.getMaxValue()));
+            row.put("requests", endpointStats.total());
+            row.put("errors", endpointStats.errors.sum());
+            summary.put(endpoint.key(), row);
+        });
+        return summary;
+    }
+
+    void write(Path reportDir) throws IOException {
+        Files.createDirectories(reportDir);
+        for (Map.Entry<Endpoint, OpenModelLoadGenerator.EndpointStats> entry : stats.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(reportDir.resolve(entry.getKey().key() + ".hgrm")))) {
+                entry.getValue().latencies.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+        JSON.writeValue(reportDir.resolve("summary.json").toFile(), summary());
+    }
+
+    String table() {
+        StringBuilder table = new StringBuilder(String.format("%-8s %10s %10s %10s %10s %9s %7s%n",
+                "endpoint", "p50 ms", "p99 ms", "p999 ms", "max ms", "requests", "errors"));
+        summary().forEach((endpoint, row) -> table.append(String.format("%-8s %10.2f %10.2f %10.2f %10.2f %9d %7d%n",
+                endpoint, row.get("p50"), row.get("p99"), row.get("p999"), row.get("max"), row.get("requests"), row.get("errors"))));
+        return table.toString();
+    }
+
+    /**
+     * @return One line per percentile above its baseline by more than the threshold, or per endpoint with
+     *         too many errors; empty if the run passes. Endpoints missing from the baseline are not compared.
+     */
+    List<String> violations(Map<String, Map<String, Double>> baseline, double threshold, double maxErrorRate) {
+        List<String> violations = new ArrayList<>();
+        summary().forEach((endpoint, row) -> {
+            double errorRate = row.get("requests").longValue() == 0 ? 0
+                    : row.get("errors").doubleValue() / row.get("requests").longValue();
+            if (errorRate > maxErrorRate) {
+                violations.add(String.format("%s: %.2f%% of requests failed (allowed %.2f%%)",
+                        endpoint, errorRate * 100, maxErrorRate * 100));
+            }
+            Map<String, Double> expected = baseline.get(endpoint);
+            if (expected == null) {
+                return;
+            }
+            for (String percentile : PERCENTILES) {
+                Double limit = expected.get(percentile);
+                double actual = row.get(percentile).doubleValue();
+                if (limit != null && actual > limit * (1 + threshold)) {
+                    violations.add(String.format("%s %s: %.2f ms, baseline %.2f ms (+%.0f%% allowed)",
+                            endpoint, percentile, actual, limit, threshold * 100));
+                }
+            }
+        });
+        return violations;
+    }
+
+    static Map<String, Map<String, Double>> readBaseline(Path file) throws IOException {
+        TypeReference<Map<String, Map<String, Double>>> type = new TypeReference<>() {
+        };
+        if (file != null) {
+            return JSON.readValue(file.toFile(), type);
+        }
+        try (InputStream in = LatencyReport.class.getResourceAsStream(BUNDLED_BASELINE)) {
+            if (in == null) {
+                throw new IOException("No baseline given and " + BUNDLED_BASELINE + " is not on the classpath");
+            }
+            return JSON.readValue(in, type);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.taskmanager.loadtest;
+
+import com.example.taskmanager.config.AppProperties;
+import com.example.taskmanager.datagen.SyntheticDataGenerator;
+import com.example.taskmanager.search.TaskSearchIndex;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Users and tasks the load test runs against, written by {@link SyntheticDataGenerator}. Tasks are spread evenly
+ * unless {@code loadtest.zipfExponent} skews them towards a few users. All generated users share one password,
+ * so any of them can log in.
+ */
+final class LoadTestData {
+
+    static final String PASSWORD = "load-test-password";
+    static final List<String> VOCABULARY = new AppProperties.DataGenerator().getVocabulary();
+
+    private static final String USERNAME_PREFIX = "load";
+
+    final List<String> usernames = new ArrayList<>();
+    final List<long[]> taskIds = new ArrayList<>();
+    // Indexes into usernames of the users owning at least one task, the only ones an update can pick.
+    final List<Integer> owners = new ArrayList<>();
+
+    static LoadTestData seed(LoadTestSettings settings, SyntheticDataGenerator generator, JdbcTemplate jdbcTemplate,
+                             TaskSearchIndex taskSearchIndex) throws SQLException {
+        AppProperties.DataGenerator spec = new AppProperties.DataGenerator();
+        spec.setUsers(settings.users());
+        spec.setTasks((long) settings.users() * settings.tasksPerUser());
+        spec.setZipfExponent(settings.zipfExponent());
+        spec.setUsernamePrefix(USERNAME_PREFIX);
+        spec.setPassword(PASSWORD);
+        // Also restarts task_id_seq one allocation block above the seeded ids, so the pooled optimizer never
+        // hands the tasks created during the run an id that is already taken.
+        SyntheticDataGenerator.Summary summary = generator.generate(spec);
+        // The generator writes around the application, so the title index has to be rebuilt to see the tasks.
+        taskSearchIndex.rebuild();
+
+        LoadTestData data = new LoadTestData();
+        for (int u = 0; u < summary.users(); u++) {
+            long[] ids = jdbcTemplate.queryForList("SELECT id FROM tasks WHERE user_id = ?", Long.class,
+                    summary.firstUserId() + u).stream().mapToLong(Long::longValue).toArray();
+            data.usernames.add(USERNAME_PREFIX + u);
+            data.taskIds.add(ids);
+            if (ids.length > 0) {
+                data.owners.add(u);
+            }
+        }
+        return data;
+    }
+}
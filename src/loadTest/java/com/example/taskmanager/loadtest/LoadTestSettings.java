@@ -0,0 +1,66 @@
+package com.example.taskmanager.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test parameters, read from {@code loadtest.*} system properties (the Gradle task forwards
+ * {@code -Ploadtest.*} project properties).
+ *
+ * @param rate           Requests started per second, whatever the response times are (open model).
+ * @param warmup         Time driven at full rate before latencies are recorded.
+ * @param duration       Time during which latencies are recorded.
+ * @param users          Number of seeded users the requests are spread over.
+ * @param tasksPerUser   Tasks seeded per user on average.
+ * @param zipfExponent   Skew of tasks per user, 0 for an even spread.
+ * @param mix            Relative weight of each endpoint; endpoints without a weight are not called.
+ * @param threshold      Allowed growth over a baseline percentile, 0.2 meaning 20%.
+ * @param maxErrorRate   Largest acceptable share of failed requests per endpoint.
+ * @param maxInFlight    Requests outstanding at once before further arrivals count as failures.
+ * @param baseline       Baseline file; the bundled {@code loadtest/baseline.json} when not set.
+ * @param reportDir      Where histograms and the summary are written.
+ */
+record LoadTestSettings(double rate, Duration warmup, Duration duration, int users, int tasksPerUser,
+                        double zipfExponent, Map<Endpoint, Integer> mix, double threshold, double maxErrorRate,
+                        int maxInFlight, Path baseline, Path reportDir) {
+
+    static final String DEFAULT_MIX = "login=2,list=40,create=12,update=20,search=18,stats=8";
+
+    static LoadTestSettings fromSystemProperties() {
+        String baseline = System.getProperty("loadtest.baseline");
+        return new LoadTestSettings(
+                Double.parseDouble(System.getProperty("loadtest.rate", "200")),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT60S")),
+                Integer.parseInt(System.getProperty("loadtest.users", "50")),
+                Integer.parseInt(System.getProperty("loadtest.tasksPerUser", "200")),
+                Double.parseDouble(System.getProperty("loadtest.zipfExponent", "0")),
+                parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+                Double.parseDouble(System.getProperty("loadtest.threshold", "0.2")),
+                Double.parseDouble(System.getProperty("loadtest.maxErrorRate", "0.01")),
+                Integer.parseInt(System.getProperty("loadtest.maxInFlight", "2000")),
+                baseline == null || baseline.isBlank() ? null : Path.of(baseline),
+                Path.of(System.getProperty("loadtest.reportDir", "build/reports/loadTest")));
+    }
+
+    // "list=40,create=10" -> {LIST=40, CREATE=10}
+    static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint=weight in loadtest.mix, got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Endpoint.fromKey(parts[0]), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix selects no endpoint: " + mix);
+        }
+        return weights;
+    }
+}
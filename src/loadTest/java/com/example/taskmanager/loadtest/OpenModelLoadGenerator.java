@@ -0,0 +1,150 @@
+package com.example.taskmanager.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiFunction;
+
+/**
+ * Starts requests at a constant arrival rate, independently of how fast the server answers.
+ * <p>
+ * A closed loop of N clients slows down together with the server and so hides exactly the queueing we want
+ * to see. Here request {@code i} is due at {@code start + i / rate}, is sent asynchronously, and its latency
+ * is measured from that due time rather than from when it was actually sent, so a stalled dispatcher or a
+ * backed-up client counts against the server instead of silently thinning the load (coordinated omission).
+ * For the same reason a measured request still unanswered when the run gives up waiting counts as an error.
+ */
+final class OpenModelLoadGenerator {
+
+    private final HttpClient client;
+    private final LoadTestSettings settings;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // Measured requests without a response yet, by sequence number; whoever removes an entry records it.
+    private final Map<Long, Outstanding> outstanding = new ConcurrentHashMap<>();
+
+    private record Outstanding(Endpoint endpoint, CompletableFuture<?> response) {
+    }
+
+    OpenModelLoadGenerator(HttpClient client, LoadTestSettings settings) {
+        this.client = client;
+        this.settings = settings;
+        settings.mix().keySet().forEach(endpoint -> stats.put(endpoint, new EndpointStats()));
+    }
+
+    /**
+     * Drives the warm-up and the measured period, then waits for outstanding responses; those still missing
+     * after the wait are counted as errors.
+     * @param requests Builds the request for an endpoint; called on the dispatching thread only.
+     * @return Statistics of the measured period per endpoint.
+     */
+    Map<Endpoint, EndpointStats> run(BiFunction<Endpoint, SplittableRandom, HttpRequest> requests) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(42);
+        Endpoint[] picks = weightedPicks();
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / settings.rate());
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+
+        for (long i = 0; ; i++) {
+            long due = start + i * interval;
+            if (due - end >= 0) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = picks[random.nextInt(picks.length)];
+            HttpRequest request = requests.apply(endpoint, random);
+            boolean measured = due - measureFrom >= 0;
+            if (inFlight.get() >= settings.maxInFlight()) {
+                // The server is so far behind that more concurrency would only measure the client.
+                if (measured) {
+                    stats.get(endpoint).errors.increment();
+                }
+                continue;
+            }
+            inFlight.incrementAndGet();
+            CompletableFuture<HttpResponse<Void>> response = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+            long sequence = i;
+            if (measured) {
+                outstanding.put(sequence, new Outstanding(endpoint, response));
+            }
+            response.whenComplete((result, error) -> {
+                inFlight.decrementAndGet();
+                if (measured && outstanding.remove(sequence) != null) {
+                    stats.get(endpoint).record(System.nanoTime() - due, error == null && result.statusCode() < 400);
+                }
+            });
+        }
+        awaitOutstanding(Duration.ofSeconds(30));
+        return stats;
+    }
+
+    private void awaitOutstanding(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+        // The slowest requests of a stalled server must not vanish from the results.
+        outstanding.keySet().forEach(sequence -> {
+            Outstanding request = outstanding.remove(sequence);
+            if (request != null) {
+                stats.get(request.endpoint()).errors.increment();
+                request.response().cancel(true);
+            }
+        });
+    }
+
+    // One slot per unit of weight, so a uniform pick follows the mix.
+    private Endpoint[] weightedPicks() {
+        int total = settings.mix().values().stream().mapToInt(Integer::intValue).sum();
+        Endpoint[] picks = new Endpoint[total];
+        int next = 0;
+        for (Map.Entry<Endpoint, Integer> entry : settings.mix().entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                picks[next++] = entry.getKey();
+            }
+        }
+        return picks;
+    }
+
+    /**
+     * Latencies of successful calls in microseconds, plus the count of failed ones.
+     */
+    static final class EndpointStats {
+        final Histogram latencies = new ConcurrentHistogram(3);
+        final LongAdder errors = new LongAdder();
+
+        void record(long latencyNanos, boolean success) {
+            if (success) {
+                latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+            } else {
+                errors.increment();
+            }
+        }
+
+        long total() {
+            return latencies.getTotalCount() + errors.sum();
+        }
+
+        double errorRate() {
+            long total = total();
+            return total == 0 ? 0 : (double) errors.sum() / total;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.taskmanager.audit;
+
+/**
+ * What an audit event records.
+ */
+public enum AuditAction {
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_DELETED,
+    USER_REGISTERED,
+    USER_ROLE_CHANGED,
+    USER_DELETED
+}
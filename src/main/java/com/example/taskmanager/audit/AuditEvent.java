@@ -0,0 +1,14 @@
+package com.example.taskmanager.audit;
+
+import java.util.List;
+
+/**
+ * One audited change, written as a JSON line.
+ * @param timestamp Epoch milliseconds at which the change was made.
+ * @param action What was done.
+ * @param actor Username of whoever did it, or {@code system}.
+ * @param targetIds IDs of the tasks or users changed; several for batch operations.
+ * @param detail Free-form extra information, may be null.
+ */
+public record AuditEvent(long timestamp, AuditAction action, String actor, List<Long> targetIds, String detail) {
+}
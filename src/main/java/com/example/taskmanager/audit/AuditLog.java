@@ -0,0 +1,178 @@
+package com.example.taskmanager.audit;
+
+import com.example.taskmanager.config.AppProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Structured audit trail of task and user changes, kept off the request thread.
+ * <p>
+ * {@link #record} only places an event in a lock-free {@link AuditRingBuffer}, after the surrounding transaction
+ * commits; a single background thread drains it in batches into append-only segment files with one fsync per
+ * batch (see {@link AuditSegmentWriter}). If the writer falls behind and the buffer fills up, further events are
+ * dropped and counted in {@code audit.events.dropped} rather than slowing requests down.
+ */
+@Component
+public class AuditLog implements MeterBinder, DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(AuditLog.class);
+
+    public static final String SYSTEM_ACTOR = "system";
+
+    private final AppProperties.Audit config;
+    private final AuditRingBuffer buffer;
+    private final AuditSegmentWriter segmentWriter;
+    private final Thread writerThread;
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean running = true;
+
+    public AuditLog(AppProperties appProperties, ObjectMapper objectMapper) {
+        this.config = appProperties.getAudit();
+        this.buffer = new AuditRingBuffer(config.getBufferSize());
+        this.segmentWriter = new AuditSegmentWriter(Path.of(config.getDirectory()), objectMapper.writerFor(AuditEvent.class),
+                config.getSegmentSize().toBytes(), config.getSegmentMaxAge(), config.getMaxSegments(),
+                config.isFsync(), Clock.systemUTC());
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("audit-writer-");
+        threadFactory.setDaemon(true);
+        this.writerThread = threadFactory.newThread(this::drainLoop);
+        if (config.isEnabled()) {
+            writerThread.start();
+        }
+    }
+
+    /**
+     * Records a change to a single task or user.
+     */
+    public void record(AuditAction action, String actor, Long targetId, String detail) {
+        record(action, actor, Collections.singletonList(targetId), detail);
+    }
+
+    /**
+     * Records a change. Inside a transaction the event is kept only if the transaction commits.
+     * @param action What was done.
+     * @param actor Who did it.
+     * @param targetIds IDs of the changed tasks or users.
+     * @param detail Extra information, may be null.
+     */
+    public void record(AuditAction action, String actor, List<Long> targetIds, String detail) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        AuditEvent event = new AuditEvent(System.currentTimeMillis(), action, actor, targetIds, detail);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("audit.buffer.size", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(registry);
+        Gauge.builder("audit.buffer.capacity", buffer, AuditRingBuffer::capacity)
+                .register(registry);
+        FunctionCounter.builder("audit.events.written", written, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("audit.events.dropped", dropped, LongAdder::sum)
+                .description("Audit events lost because the buffer was full")
+                .register(registry);
+        FunctionCounter.builder("audit.events.failed", failed, LongAdder::sum)
+                .description("Audit events lost because writing the segment failed")
+                .register(registry);
+    }
+
+    /**
+     * Stops the writer after it has written everything already recorded.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void enqueue(AuditEvent event) {
+        if (!buffer.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(config.getBatchSize());
+        long idleNanos = config.getFlushInterval().toNanos();
+        while (true) {
+            boolean stopping = !running;
+            int drained = buffer.drainTo(batch, config.getBatchSize());
+            if (drained > 0) {
+                writeBatch(batch);
+                batch.clear();
+            }
+            if (stopping && buffer.size() == 0) {
+                break;
+            }
+            // A short batch means the buffer is empty: wait, so the next fsync covers more events.
+            if (drained < config.getBatchSize() && !stopping) {
+                LockSupport.parkNanos(this, idleNanos);
+            }
+        }
+        try {
+            segmentWriter.close();
+        } catch (IOException e) {
+            logger.error("Closing the audit segment failed: {}", e.getMessage());
+        }
+    }
+
+    private void writeBatch(List<AuditEvent> batch) {
+        try {
+            segmentWriter.write(batch);
+            written.add(batch.size());
+        } catch (IOException | RuntimeException e) {
+            failed.add(batch.size());
+            logger.error("Writing {} audit events failed: {}", batch.size(), e.getMessage());
+            try {
+                // Start a fresh segment with the next batch.
+                segmentWriter.close();
+            } catch (IOException closeFailure) {
+                logger.debug("Closing the failed audit segment failed too: {}", closeFailure.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return The username of the authenticated caller, or {@value #SYSTEM_ACTOR} outside a request.
+     */
+    public static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? SYSTEM_ACTOR : authentication.getName();
+    }
+}
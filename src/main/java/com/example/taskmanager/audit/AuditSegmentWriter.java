@@ -0,0 +1,142 @@
+package com.example.taskmanager.audit;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Appends audit events as JSON lines to segment files named {@code audit-<epoch millis>.log} in one directory.
+ * <p>
+ * A batch is encoded into one buffer, written with a single call and, if enabled, forced to disk once, so the
+ * cost of an fsync is shared by every event in the batch. Segments are never modified after they are rotated
+ * out, which happens when one reaches its size or age limit; only the newest {@code maxSegments} are kept.
+ * Not thread-safe: it is driven by the audit writer thread alone.
+ */
+final class AuditSegmentWriter implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(AuditSegmentWriter.class);
+
+    static final String PREFIX = "audit-";
+    static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final ObjectWriter json;
+    private final long segmentBytes;
+    private final Duration segmentMaxAge;
+    private final int maxSegments;
+    private final boolean fsync;
+    private final Clock clock;
+    private final ByteArrayOutputStream encoded = new ByteArrayOutputStream(64 * 1024);
+
+    private FileChannel channel;
+    private long segmentSize;
+    private long segmentOpenedAt;
+
+    AuditSegmentWriter(Path directory, ObjectWriter json, long segmentBytes, Duration segmentMaxAge,
+                       int maxSegments, boolean fsync, Clock clock) {
+        this.directory = directory;
+        this.json = json;
+        this.segmentBytes = segmentBytes;
+        this.segmentMaxAge = segmentMaxAge;
+        this.maxSegments = maxSegments;
+        this.fsync = fsync;
+        this.clock = clock;
+    }
+
+    /**
+     * Appends the events to the current segment, rotating first if it is full or too old.
+     */
+    void write(List<AuditEvent> events) throws IOException {
+        encoded.reset();
+        for (AuditEvent event : events) {
+            json.writeValue(encoded, event);
+            encoded.write('\n');
+        }
+        if (channel == null || segmentSize >= segmentBytes || clock.millis() - segmentOpenedAt >= segmentMaxAge.toMillis()) {
+            rotate();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(encoded.toByteArray());
+        while (buffer.hasRemaining()) {
+            segmentSize += channel.write(buffer);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            FileChannel closing = channel;
+            channel = null;
+            try {
+                closing.force(false);
+            } finally {
+                closing.close();
+            }
+        }
+    }
+
+    private void rotate() throws IOException {
+        close();
+        Files.createDirectories(directory);
+        long now = clock.millis();
+        Path segment = directory.resolve(PREFIX + now + SUFFIX);
+        // Two rotations within one millisecond must not share a file.
+        while (Files.exists(segment)) {
+            segment = directory.resolve(PREFIX + ++now + SUFFIX);
+        }
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentSize = 0;
+        segmentOpenedAt = clock.millis();
+        logger.debug("Opened audit segment {}", segment);
+        deleteOldSegments();
+    }
+
+    private void deleteOldSegments() throws IOException {
+        List<Path> segments = segments(directory);
+        for (int i = 0; i < segments.size() - maxSegments; i++) {
+            Files.deleteIfExists(segments.get(i));
+            logger.debug("Deleted audit segment {}", segments.get(i));
+        }
+    }
+
+    /**
+     * @return The segment files in the directory, oldest first.
+     */
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted((a, b) -> Long.compare(segmentMillis(a), segmentMillis(b)))
+                    .toList();
+        }
+    }
+
+    private static long segmentMillis(Path segment) {
+        String name = segment.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.taskmanager.cache;
+
+import com.example.taskmanager.config.AppProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts cache evictions to the other instances of the application, so that a change made on one
+ * replica does not leave the others serving stale entries until they expire.
+ * <p>
+ * Evictions are sent only after the surrounding transaction commits, so peers cannot reload the old rows.
+ * They are buffered for {@code app.cache-bus.coalesce-window}, de-duplicated and sent as one batch.
+ * Each batch carries a per-instance sequence number. A receiver that sees a gap clears every cache it
+ * has registered, because the missed batches could have named any key. After that, late or duplicate
+ * batches from that sender are ignored, since the clear already covered them.
+ */
+@Component
+public class CacheInvalidationBus {
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    // Keeps a batch well inside the 8000 byte limit of a PostgreSQL notification payload.
+    private static final int MAX_ENTRIES_PER_BATCH = 50;
+
+    private final InvalidationTransport transport;
+    private final Duration coalesceWindow;
+    private final String origin = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, List<Consumer<String>>> handlers = new ConcurrentHashMap<>();
+    // Senders that restarted or left never write again, so their entries just expire.
+    private final Cache<String, Long> lastSequenceByOrigin = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofDays(1))
+            .build();
+
+    private final Object pendingLock = new Object();
+    private Set<InvalidationBatch.Invalidation> pending = new LinkedHashSet<>();
+    private ScheduledExecutorService flusher;
+
+    public CacheInvalidationBus(InvalidationTransport transport, AppProperties appProperties) {
+        this.transport = transport;
+        this.coalesceWindow = appProperties.getCacheBus().getCoalesceWindow();
+    }
+
+    /**
+     * Registers how to apply evictions received for {@code cacheName}. The handler is called with the key,
+     * or with null to clear the whole cache. Several handlers may listen to the same name.
+     */
+    public void register(String cacheName, Consumer<String> handler) {
+        handlers.computeIfAbsent(cacheName, name -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    /**
+     * Asks the peers to evict {@code key} from {@code cacheName}. The local cache is not touched.
+     */
+    public void evict(String cacheName, Object key) {
+        publish(new InvalidationBatch.Invalidation(cacheName, String.valueOf(key)));
+    }
+
+    /**
+     * Like {@link #evict}, for callers that already run after their transaction committed, such as
+     * after-commit event listeners, where a new transaction synchronization would never be called.
+     */
+    public void evictCommitted(String cacheName, Object key) {
+        enqueue(new InvalidationBatch.Invalidation(cacheName, String.valueOf(key)));
+    }
+
+    /**
+     * Asks the peers to clear {@code cacheName}. The local cache is not touched.
+     */
+    public void clear(String cacheName) {
+        publish(new InvalidationBatch.Invalidation(cacheName, null));
+    }
+
+    @PostConstruct
+    public void start() {
+        transport.start(this::receive, this::clearAll);
+        long windowMillis = Math.max(1, coalesceWindow.toMillis());
+        flusher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("cache-bus-"));
+        flusher.scheduleWithFixedDelay(this::flush, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        flush();
+        transport.stop();
+    }
+
+    /**
+     * Sends the evictions buffered so far. Normally called by the coalescing timer.
+     */
+    public void flush() {
+        Set<InvalidationBatch.Invalidation> toSend;
+        synchronized (pendingLock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            toSend = pending;
+            pending = new LinkedHashSet<>();
+        }
+        List<InvalidationBatch.Invalidation> entries = new ArrayList<>(toSend);
+        for (int from = 0; from < entries.size(); from += MAX_ENTRIES_PER_BATCH) {
+            List<InvalidationBatch.Invalidation> chunk =
+                    List.copyOf(entries.subList(from, Math.min(entries.size(), from + MAX_ENTRIES_PER_BATCH)));
+            try {
+                transport.send(new InvalidationBatch(origin, sequence.incrementAndGet(), chunk));
+            } catch (RuntimeException e) {
+                // The sequence number is used up, so peers see a gap on the next batch and clear.
+                logger.warn("Failed to broadcast {} cache evictions: {}", chunk.size(), e.getMessage());
+            }
+        }
+    }
+
+    private void publish(InvalidationBatch.Invalidation invalidation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(invalidation);
+                }
+            });
+        } else {
+            enqueue(invalidation);
+        }
+    }
+
+    private void enqueue(InvalidationBatch.Invalidation invalidation) {
+        synchronized (pendingLock) {
+            pending.add(invalidation);
+        }
+    }
+
+    private void receive(InvalidationBatch batch) {
+        if (origin.equals(batch.origin())) {
+            return;
+        }
+        long[] previous = new long[1];
+        boolean[] accepted = new boolean[1];
+        lastSequenceByOrigin.asMap().compute(batch.origin(), (sender, last) -> {
+            previous[0] = last == null ? 0 : last;
+            accepted[0] = last == null || batch.sequence() > last;
+            return accepted[0] ? batch.sequence() : last;
+        });
+        if (!accepted[0]) {
+            logger.debug("Ignoring cache invalidation {} from {}, already past {}", batch.sequence(), batch.origin(), previous[0]);
+            return;
+        }
+        // The first batch seen from a sender has no predecessor to compare against.
+        if (previous[0] != 0 && batch.sequence() > previous[0] + 1) {
+            logger.info("Missed cache invalidations {}..{} from {}, clearing local caches",
+                    previous[0] + 1, batch.sequence() - 1, batch.origin());
+            clearAll();
+            return;
+        }
+        for (InvalidationBatch.Invalidation invalidation : batch.entries()) {
+            handlers.getOrDefault(invalidation.cache(), List.of()).forEach(handler -> handler.accept(invalidation.key()));
+        }
+    }
+
+    private void clearAll() {
+        handlers.values().forEach(list -> list.forEach(handler -> handler.accept(null)));
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.taskmanager.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Keeps the Hibernate second-level cache (see {@link com.example.taskmanager.config.EntityCacheConfig}) in step
+ * with changes Hibernate does not see on this instance.
+ * <p>
+ * Hibernate maintains the regions itself for changes made through the persistence context and for bulk JPQL
+ * statements run here. Rows written past it, with plain JDBC or by another instance, are not: callers of such
+ * writes use {@link #evict} or {@link #evictAll}, and committed changes to cached entities are broadcast through
+ * the {@link CacheInvalidationBus}, so the peers evict the row and their cached query results. An eviction lost
+ * on the way is bounded by the region's TTL.
+ * <p>
+ * Bus keys are {@code <entity>#<id>} for one row, {@code <entity>} for all rows of an entity and
+ * {@value #NEW_ROWS} for inserts, which only affect query results. Cached entities must have {@code Long} ids.
+ */
+@Component
+public class EntityCache {
+    private static final Logger logger = LoggerFactory.getLogger(EntityCache.class);
+
+    public static final String NAME = "entities";
+    static final String NEW_ROWS = "new-rows";
+    private static final char ID_SEPARATOR = '#';
+    // Beyond this many rows a peer drops the whole entity region instead of one message per row.
+    private static final int MAX_ROWS_PER_EVICTION = 50;
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final CacheInvalidationBus invalidationBus;
+
+    public EntityCache(EntityManagerFactory entityManagerFactory, CacheInvalidationBus invalidationBus) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.invalidationBus = invalidationBus;
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        CommittedChangeBroadcaster broadcaster = new CommittedChangeBroadcaster();
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, broadcaster);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, broadcaster);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, broadcaster);
+        invalidationBus.register(NAME, this::applyPeerChange);
+    }
+
+    /**
+     * Evicts rows changed by a statement that bypassed the persistence context: here now and again after commit,
+     * so a concurrent reader cannot re-cache the old row, and on the other instances after commit.
+     * @param entityClass The cached entity.
+     * @param ids IDs of the changed or deleted rows.
+     */
+    public void evict(Class<?> entityClass, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String entityName = entityClass.getName();
+        boolean wholeRegion = ids.size() > MAX_ROWS_PER_EVICTION;
+        Runnable evictLocally = () -> {
+            if (wholeRegion) {
+                sessionFactory.getCache().evictEntityData(entityClass);
+            } else {
+                ids.forEach(id -> sessionFactory.getCache().evictEntityData(entityClass, id));
+            }
+            sessionFactory.getCache().evictQueryRegions();
+        };
+        evictLocally.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictLocally.run();
+                }
+            });
+        }
+        if (wholeRegion) {
+            invalidationBus.evict(NAME, entityName);
+        } else {
+            ids.forEach(id -> invalidationBus.evict(NAME, entityName + ID_SEPARATOR + id));
+        }
+    }
+
+    /**
+     * Empties every region here and on the other instances, after rows were written past Hibernate.
+     */
+    public void evictAll() {
+        sessionFactory.getCache().evictAllRegions();
+        invalidationBus.clear(NAME);
+    }
+
+    private void applyPeerChange(String key) {
+        Cache cache = sessionFactory.getCache();
+        if (key == null) {
+            cache.evictAllRegions();
+            return;
+        }
+        if (!NEW_ROWS.equals(key)) {
+            try {
+                int separator = key.indexOf(ID_SEPARATOR);
+                String entityName = separator < 0 ? key : key.substring(0, separator);
+                if (separator < 0) {
+                    cache.evictEntityData(entityName);
+                } else {
+                    cache.evictEntityData(entityName, Long.valueOf(key.substring(separator + 1)));
+                }
+                // A deleted row's natural id may since belong to a new row.
+                cache.evictNaturalIdData(entityName);
+            } catch (RuntimeException e) {
+                logger.warn("Unreadable entity cache eviction '{}', clearing all regions: {}", key, e.getMessage());
+                cache.evictAllRegions();
+                return;
+            }
+        }
+        // Cached counts may include the changed rows.
+        cache.evictQueryRegions();
+    }
+
+    // Runs after the transaction of the change committed, hence evictCommitted.
+    private final class CommittedChangeBroadcaster implements PostCommitInsertEventListener,
+            PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            invalidationBus.evictCommitted(NAME, NEW_ROWS);
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            invalidationBus.evictCommitted(NAME, event.getPersister().getEntityName() + ID_SEPARATOR + event.getId());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            invalidationBus.evictCommitted(NAME, event.getPersister().getEntityName() + ID_SEPARATOR + event.getId());
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return persister.canWriteToCache();
+        }
+    }
+}
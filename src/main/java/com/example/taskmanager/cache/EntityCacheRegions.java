@@ -0,0 +1,21 @@
+package com.example.taskmanager.cache;
+
+/**
+ * Names of the Hibernate second-level cache regions, shared by the mappings, the repositories and
+ * {@link com.example.taskmanager.config.EntityCacheConfig}, which creates them.
+ */
+public final class EntityCacheRegions {
+
+    public static final String USERS = "entity.users";
+    public static final String USERS_BY_USERNAME = "entity.users.by-username";
+    public static final String TASKS = "entity.tasks";
+    // Results of the count queries marked cacheable.
+    public static final String COUNTS = "query.counts";
+
+    // Hibernate's own regions, needed whenever the query cache is on.
+    public static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    private EntityCacheRegions() {
+    }
+}
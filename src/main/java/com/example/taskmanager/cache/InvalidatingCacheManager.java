@@ -0,0 +1,149 @@
+package com.example.taskmanager.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps a {@link CacheManager} so that every eviction and clear, including those made by
+ * {@code @CacheEvict}, also goes to the peers through the {@link CacheInvalidationBus}.
+ * Evictions received from peers are applied directly to the wrapped caches and are not sent on.
+ * <p>
+ * Keys are matched by their string form on the receiving side, which suits the username keys used here.
+ * <p>
+ * Actuator only recognises the unwrapped Caffeine caches, so this class publishes their
+ * {@code cache.*} metrics itself.
+ */
+public class InvalidatingCacheManager implements CacheManager, MeterBinder {
+
+    private final CacheManager delegate;
+    private final CacheInvalidationBus bus;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public InvalidatingCacheManager(CacheManager delegate, CacheInvalidationBus bus) {
+        this.delegate = delegate;
+        this.bus = bus;
+        for (String name : delegate.getCacheNames()) {
+            bus.register(name, key -> {
+                Cache cache = delegate.getCache(name);
+                if (key == null) {
+                    cache.clear();
+                } else {
+                    cache.evict(key);
+                }
+            });
+        }
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        return target == null ? null : caches.computeIfAbsent(name, n -> new BroadcastingCache(target, bus));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String name : delegate.getCacheNames()) {
+            if (delegate.getCache(name) instanceof CaffeineCache caffeineCache) {
+                CaffeineCacheMetrics.monitor(registry, caffeineCache.getNativeCache(), name);
+            }
+        }
+    }
+
+    private record BroadcastingCache(Cache target, CacheInvalidationBus bus) implements Cache {
+
+        @Override
+        public String getName() {
+            return target.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return target.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return target.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return target.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return target.get(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            target.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return target.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            target.evict(key);
+            afterCommit(() -> target.evict(key));
+            bus.evict(getName(), key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean present = target.evictIfPresent(key);
+            afterCommit(() -> target.evict(key));
+            bus.evict(getName(), key);
+            return present;
+        }
+
+        @Override
+        public void clear() {
+            target.clear();
+            bus.clear(getName());
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean hadEntries = target.invalidate();
+            bus.clear(getName());
+            return hadEntries;
+        }
+
+        // Evicting again after commit stops a concurrent reader re-caching the rows as they were before it.
+        private static void afterCommit(Runnable action) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.taskmanager.cache;
+
+import java.util.List;
+
+/**
+ * Evictions sent to peer instances in one message.
+ * {@code sequence} increases by one per batch from the same {@code origin}, which lets receivers detect
+ * lost or reordered messages.
+ */
+public record InvalidationBatch(String origin, long sequence, List<Invalidation> entries) {
+
+    /**
+     * One eviction; a null {@code key} clears the whole cache. Keys travel in their string form.
+     */
+    public record Invalidation(String cache, String key) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.taskmanager.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries {@link InvalidationBatch}es between instances. Implementations may deliver a batch back to
+ * its sender; the bus drops those.
+ */
+public interface InvalidationTransport {
+
+    void send(InvalidationBatch batch);
+
+    /**
+     * Starts delivering batches from peers.
+     * @param receiver Called with every batch received.
+     * @param onMissedMessages Called when messages may have been lost, e.g. after reconnecting.
+     */
+    void start(Consumer<InvalidationBatch> receiver, Runnable onMissedMessages);
+
+    void stop();
+}
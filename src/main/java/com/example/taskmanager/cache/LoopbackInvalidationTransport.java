@@ -0,0 +1,41 @@
+package com.example.taskmanager.cache;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Delivers batches to every bus in the same JVM that uses the same channel, synchronously on the
+ * sending thread. Used when there is no shared database to signal through, and to run several
+ * application contexts against each other in tests.
+ */
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+
+    private static final Map<String, Set<Consumer<InvalidationBatch>>> SUBSCRIBERS = new ConcurrentHashMap<>();
+
+    private final String channel;
+    private Consumer<InvalidationBatch> receiver;
+
+    public LoopbackInvalidationTransport(String channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void send(InvalidationBatch batch) {
+        SUBSCRIBERS.getOrDefault(channel, Set.of()).forEach(subscriber -> subscriber.accept(batch));
+    }
+
+    @Override
+    public void start(Consumer<InvalidationBatch> receiver, Runnable onMissedMessages) {
+        this.receiver = receiver;
+        SUBSCRIBERS.computeIfAbsent(channel, name -> ConcurrentHashMap.newKeySet()).add(receiver);
+    }
+
+    @Override
+    public void stop() {
+        if (receiver != null) {
+            SUBSCRIBERS.getOrDefault(channel, Set.of()).remove(receiver);
+        }
+    }
+}
@@ -1,12 +1,22 @@
 package com.example.taskmanager.config;
 
+import com.example.taskmanager.model.TaskStatus;
+import com.example.taskmanager.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 @ConfigurationProperties(prefix = "app")
@@ -15,9 +25,247 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class AppProperties {
     private String supportEmail;
     private String uiTheme;
+    private Pagination pagination = new Pagination();
+    private Search search = new Search();
+    private Batch batch = new Batch();
+    private BulkImport bulkImport = new BulkImport();
+    private UserCache userCache = new UserCache();
+    private PasswordHashing passwordHashing = new PasswordHashing();
+    private Caches caches = new Caches();
+    private EntityCache entityCache = new EntityCache();
+    private CacheBus cacheBus = new CacheBus();
+    private ConnectionLimiter connectionLimiter = new ConnectionLimiter();
+    private TaskStream taskStream = new TaskStream();
+    private ChangeFeed changeFeed = new ChangeFeed();
+    private Replica replica = new Replica();
+    private DataGenerator dataGenerator = new DataGenerator();
+    private Audit audit = new Audit();
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int threads = passwordHashing.getThreads() > 0
+                ? passwordHashing.getThreads()
+                : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(passwordHashing.getBcryptStrength(), threads,
+                passwordHashing.getQueueCapacity(), passwordHashing.getRetryAfterSeconds(), meterRegistry);
+    }
+
+    @Getter
+    @Setter
+    public static class Pagination {
+        // Page size used when the client does not pass a limit.
+        private int defaultLimit = 50;
+        // Upper bound for client-supplied limits.
+        private int maxLimit = 500;
+
+        public int resolveLimit(Integer requested) {
+            if (requested == null || requested < 1) {
+                return defaultLimit;
+            }
+            return Math.min(requested, maxLimit);
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Search {
+        // Keep an in-memory trigram index of task titles; when disabled, searches run LIKE queries.
+        private boolean indexEnabled = true;
+        private int defaultLimit = 20;
+        private int maxLimit = 100;
+
+        public int resolveLimit(Integer requested) {
+            if (requested == null || requested < 1) {
+                return defaultLimit;
+            }
+            return Math.min(requested, maxLimit);
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+        // Largest number of items accepted by one batch request.
+        private int maxItems = 10000;
+        // Entities written per flush; keep it a multiple of hibernate.jdbc.batch_size.
+        private int flushSize = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class BulkImport {
+        // Imports that may write at the same time; further imports wait for a writer.
+        private int maxConcurrent = 2;
+        // Parsed chunks (of batch.flush-size rows) buffered ahead of the writer; the parser blocks when it is full.
+        private int queueCapacity = 4;
+        // Per-line errors kept for the report; later errors are only counted.
+        private int maxReportedErrors = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class UserCache {
+        // Users kept in memory; least recently used entries go first.
+        private long maxSize = 10000;
+        // Upper bound on how stale a user (role, enabled flag) can be after a change made on another instance.
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class PasswordHashing {
+        // BCrypt cost factor; stored hashes with a different cost are rehashed on the next successful login.
+        private int bcryptStrength = 10;
+        // Hashing threads; 0 means one per available core.
+        private int threads = 0;
+        // Hashes allowed to wait for a thread; beyond that, requests get 503 with Retry-After.
+        private int queueCapacity = 64;
+        private int retryAfterSeconds = 1;
+    }
+
+    @Getter
+    @Setter
+    public static class Caches {
+        // Lists of a user's tasks as TaskDto; the weight is the number of tasks held.
+        private CacheSpec userTasks = new CacheSpec(50000, Duration.ofMinutes(10));
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CacheSpec {
+        // W-TinyLFU eviction starts once the summed weight of the entries exceeds this.
+        private long maxWeight = 10000;
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class EntityCache {
+        // Hibernate second-level cache of users and tasks, and of the count queries marked cacheable.
+        private boolean enabled = true;
+        // Users are read on nearly every request and change rarely: large and long-lived.
+        private RegionSpec users = new RegionSpec(100_000, Duration.ofHours(1));
+        // Tasks change often; entries changed on another instance are evicted through the cache bus,
+        // the TTL bounds what a lost eviction can cost.
+        private RegionSpec tasks = new RegionSpec(200_000, Duration.ofMinutes(10));
+        // Count query results; any write to the tables they read invalidates them.
+        private RegionSpec counts = new RegionSpec(10_000, Duration.ofMinutes(5));
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RegionSpec {
+        // Entries held; least recently or frequently used ones go first.
+        private long maxSize = 10000;
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class CacheBus {
+        // AUTO uses POSTGRES when the datasource is PostgreSQL and LOOPBACK (this JVM only) otherwise.
+        private Transport transport = Transport.AUTO;
+        private String channel = "cache_invalidation";
+        // Evictions within this window are de-duplicated and sent as one message.
+        private Duration coalesceWindow = Duration.ofMillis(50);
+
+        public enum Transport { AUTO, POSTGRES, LOOPBACK }
+    }
+
+    @Getter
+    @Setter
+    public static class ConnectionLimiter {
+        private boolean enabled = true;
+        // Per pool; 0 means the maximum size of the Hikari pool.
+        private int maxConcurrent = 0;
+        private Duration acquireTimeout = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class TaskStream {
+        // Clients reconnect (with Last-Event-ID) when a stream times out.
+        private Duration timeout = Duration.ofMinutes(30);
+        private Duration heartbeat = Duration.ofSeconds(15);
+        // Events queued per subscriber before it is reset and closed as too slow.
+        private int bufferSize = 256;
+        // Recent events kept per user for resuming, and for how long after the last one.
+        private int replaySize = 100;
+        private Duration replayRetention = Duration.ofMinutes(10);
+        private int senderThreads = 4;
+    }
+
+    @Getter
+    @Setter
+    public static class ChangeFeed {
+        // The sync position never passes log entries younger than this, so late commits are not skipped.
+        private Duration settle = Duration.ofSeconds(5);
+        // Entries superseded by a newer one for the same task are removed once this old.
+        private Duration compactAfter = Duration.ofHours(1);
+        // Tombstones are kept this long; clients that have not synced since must reload everything.
+        private Duration tombstoneRetention = Duration.ofDays(30);
+        private Duration compactInterval = Duration.ofHours(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private boolean enabled = false;
+        private String url;
+        private String username;
+        private String password;
+        // Run the migrations on the replica too; only for a local stand-in, never for a real replica.
+        private boolean migrate = false;
+        // After a user's write commits, their reads stay on the primary this long.
+        private Duration readYourWritesWindow = Duration.ofSeconds(2);
+    }
+
+    @Getter
+    @Setter
+    public static class DataGenerator {
+        private int users = 100_000;
+        private long tasks = 10_000_000;
+        // Tasks per user follow Zipf's law with this exponent; 0 spreads them evenly.
+        private double zipfExponent = 1.0;
+        // Relative share of each status among generated tasks.
+        private Map<TaskStatus, Integer> statusWeights = new EnumMap<>(Map.of(
+                TaskStatus.PENDING, 40, TaskStatus.IN_PROGRESS, 20, TaskStatus.COMPLETED, 35, TaskStatus.CANCELLED, 5));
+        // Titles are titleWords words drawn from the vocabulary, more common words first (Zipf as well).
+        private List<String> vocabulary = List.of("report", "review", "meeting", "invoice", "release", "deploy",
+                "budget", "backup", "migration", "audit", "roadmap", "hiring", "support", "renewal", "training",
+                "onboarding", "contract", "design", "testing", "follow-up", "planning", "security", "customer", "vendor");
+        private int titleWords = 3;
+        // Share of tasks that get a description.
+        private double descriptionRatio = 0.5;
+        // created_at is spread over this period before now.
+        private Duration createdWithin = Duration.ofDays(365);
+        private String usernamePrefix = "gen";
+        // Every generated user gets this password, hashed once.
+        private String password = "password";
+        private int rowsPerStatement = 500;
+        private int rowsPerTransaction = 50_000;
+        private long seed = 42;
+    }
+
+    @Getter
+    @Setter
+    public static class Audit {
+        private boolean enabled = true;
+        private String directory = "audit";
+        // Events waiting for the writer; must be a power of two. Further events are dropped when it is full.
+        private int bufferSize = 8192;
+        // Events written (and fsynced) together.
+        private int batchSize = 512;
+        // How long the writer waits for more events after a short batch.
+        private Duration flushInterval = Duration.ofMillis(200);
+        private boolean fsync = true;
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+        private Duration segmentMaxAge = Duration.ofHours(1);
+        // Older segments are deleted.
+        private int maxSegments = 168;
     }
-} 
\ No newline at end of file
+}
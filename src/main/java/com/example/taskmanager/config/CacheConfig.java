@@ -0,0 +1,67 @@
+package com.example.taskmanager.config;
+
+import com.example.taskmanager.cache.CacheInvalidationBus;
+import com.example.taskmanager.cache.InvalidatingCacheManager;
+import com.example.taskmanager.cache.InvalidationTransport;
+import com.example.taskmanager.cache.LoopbackInvalidationTransport;
+import com.example.taskmanager.cache.PostgresInvalidationTransport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring cache configuration. Every cache is declared here with its own bound and TTL from
+ * {@code app.caches}; a cache name that is not declared is an error rather than a silently unbounded map.
+ * Caches record statistics, which actuator publishes as {@code cache.*} metrics. The {@code caches} endpoint stays
+ * unexposed: {@code /actuator/**} is open to everyone, and it would let anyone clear the caches.
+ * Evictions are broadcast to the other replicas through the {@link CacheInvalidationBus}.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class CacheConfig {
+
+    public static final String USER_TASKS = "userTasks";
+
+    private final AppProperties appProperties;
+
+    @Bean
+    public CacheManager cacheManager(CacheInvalidationBus invalidationBus) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // An empty static name list switches off on-demand creation of unconfigured caches.
+        cacheManager.setCacheNames(List.of());
+        cacheManager.setAllowNullValues(false);
+
+        AppProperties.CacheSpec userTasks = appProperties.getCaches().getUserTasks();
+        // Weighted by list length, so the bound is on cached tasks rather than on cached users.
+        cacheManager.registerCustomCache(USER_TASKS, Caffeine.newBuilder()
+                .maximumWeight(userTasks.getMaxWeight())
+                .<Object, Object>weigher((username, tasks) -> 1 + (tasks instanceof Collection<?> list ? list.size() : 0))
+                .expireAfterWrite(userTasks.getTtl())
+                .recordStats()
+                .build());
+        return new InvalidatingCacheManager(cacheManager, invalidationBus);
+    }
+
+    @Bean
+    public InvalidationTransport invalidationTransport(DataSourceProperties dataSourceProperties,
+                                                       JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        AppProperties.CacheBus cacheBus = appProperties.getCacheBus();
+        boolean postgres = switch (cacheBus.getTransport()) {
+            case POSTGRES -> true;
+            case LOOPBACK -> false;
+            case AUTO -> dataSourceProperties.determineUrl().startsWith("jdbc:postgresql:");
+        };
+        return postgres
+                ? new PostgresInvalidationTransport(jdbcTemplate, dataSourceProperties, objectMapper, cacheBus.getChannel())
+                : new LoopbackInvalidationTransport(cacheBus.getChannel());
+    }
+}
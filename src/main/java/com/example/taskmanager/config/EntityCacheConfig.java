@@ -0,0 +1,74 @@
+package com.example.taskmanager.config;
+
+import com.example.taskmanager.cache.EntityCache;
+import com.example.taskmanager.cache.EntityCacheRegions;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache: entity, natural-id and query-result regions held in Caffeine through JCache.
+ * <p>
+ * Every region is created here with its bound and TTL from {@code app.entity-cache}, and Hibernate fails on a
+ * region that is not declared, rather than creating an unbounded one. Entries are held by reference, like in the
+ * other in-process caches. Per-region hit, miss and put counts are published as the
+ * {@code hibernate.second.level.cache.*}, {@code hibernate.cache.natural.id.*} and {@code hibernate.cache.query.*}
+ * metrics. Writes Hibernate does not see itself are evicted through {@link EntityCache}.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class EntityCacheConfig {
+
+    private final AppProperties appProperties;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager() {
+        AppProperties.EntityCache config = appProperties.getEntityCache();
+        // A manager of its own per application context: tests and benchmarks start several, on different databases.
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("entity-cache:" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(EntityCacheRegions.USERS, region(config.getUsers()));
+        cacheManager.createCache(EntityCacheRegions.USERS_BY_USERNAME, region(config.getUsers()));
+        cacheManager.createCache(EntityCacheRegions.TASKS, region(config.getTasks()));
+        cacheManager.createCache(EntityCacheRegions.COUNTS, region(config.getCounts()));
+        // Unused, as every cached query names its region, but Hibernate creates it.
+        cacheManager.createCache(EntityCacheRegions.DEFAULT_QUERY_RESULTS, region(config.getCounts()));
+        // One entry per table. A lost entry makes Hibernate treat older query results as current, so no bound.
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStoreByValue(false);
+        cacheManager.createCache(EntityCacheRegions.UPDATE_TIMESTAMPS, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheProperties(CacheManager entityCacheManager) {
+        boolean enabled = appProperties.getEntityCache().isEnabled();
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL);
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(AppProperties.RegionSpec spec) {
+        CaffeineConfiguration<Object, Object> region = new CaffeineConfiguration<>();
+        region.setStoreByValue(false);
+        region.setMaximumSize(OptionalLong.of(spec.getMaxSize()));
+        region.setExpireAfterWrite(OptionalLong.of(spec.getTtl().toNanos()));
+        return region;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.taskmanager.config;
+
+import com.example.taskmanager.datasource.ConcurrencyLimitedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Threading for request handling and {@code @Async} work.
+ * <p>
+ * Whether virtual threads are used is decided by {@code spring.threads.virtual.enabled}, which Spring Boot
+ * honours only on JDK 21+: Tomcat and the {@code @Async} executor then run every task on a new virtual
+ * thread, with {@code spring.task.execution.simple.concurrency-limit} as the bound. On JDK 17 the same
+ * settings fall back to the bounded platform pools configured under {@code server.tomcat.threads} and
+ * {@code spring.task.execution.pool}.
+ * <p>
+ * Either way every Hikari pool is wrapped in a {@link ConcurrencyLimitedDataSource}, so that the number of
+ * threads does not turn into the number of threads waiting inside the connection pool.
+ */
+@Configuration
+public class ExecutionConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimiterPostProcessor(ObjectProvider<AppProperties> appProperties,
+                                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Pools only: a routing DataSource in front of several pools is limited through them.
+                if (!(bean instanceof HikariDataSource pool)) {
+                    return bean;
+                }
+                AppProperties.ConnectionLimiter config = appProperties.getObject().getConnectionLimiter();
+                if (!config.isEnabled()) {
+                    return bean;
+                }
+                int permits = config.getMaxConcurrent() > 0 ? config.getMaxConcurrent() : pool.getMaximumPoolSize();
+                ConcurrencyLimitedDataSource limited =
+                        new ConcurrencyLimitedDataSource(pool, permits, config.getAcquireTimeout());
+                meterRegistry.ifAvailable(registry -> {
+                    Gauge.builder("jdbc.connections.limiter.waiting", limited, ConcurrencyLimitedDataSource::waitingThreads)
+                            .description("Threads waiting for a connection permit")
+                            .tag("name", beanName)
+                            .register(registry);
+                    Gauge.builder("jdbc.connections.limiter.available", limited, ConcurrencyLimitedDataSource::availablePermits)
+                            .tag("name", beanName)
+                            .register(registry);
+                    limited.setWaitTimer(Timer.builder("jdbc.connections.limiter.wait")
+                            .description("Time spent waiting for a connection permit, before the pool's own wait")
+                            .tag("name", beanName)
+                            .publishPercentileHistogram()
+                            .register(registry));
+                });
+                return limited;
+            }
+        };
+    }
+}
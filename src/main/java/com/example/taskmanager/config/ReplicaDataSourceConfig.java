@@ -0,0 +1,73 @@
+package com.example.taskmanager.config;
+
+import com.example.taskmanager.datasource.ReadReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Two connection pools behind one DataSource when {@code app.replica.enabled} is set: {@code spring.datasource}
+ * for the primary and {@code app.replica} for a read replica, with read-only transactions routed to the
+ * replica by {@link ReadReplicaRoutingDataSource}. Flyway and everything outside a transaction use the primary.
+ * <p>
+ * With {@code app.replica.migrate} the replica schema is migrated as well, for a local replica that is a
+ * separate database rather than a streaming copy (see the {@code replica-local} profile).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.replica.hikari")
+    public HikariDataSource replicaDataSource(AppProperties appProperties) {
+        AppProperties.Replica replica = appProperties.getReplica();
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replica.getUrl())
+                .username(replica.getUsername())
+                .password(replica.getPassword())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 AppProperties appProperties) {
+        if (appProperties.getReplica().isMigrate()) {
+            // Before anything can read through the routing DataSource.
+            migrate(appProperties.getReplica());
+        }
+        return new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(primary, replica, appProperties.getReplica().getReadYourWritesWindow()));
+    }
+
+    // Not through the replica pool: its connections are read-only.
+    private static void migrate(AppProperties.Replica replica) {
+        Flyway.configure()
+                .dataSource(replica.getUrl(), replica.getUsername(), replica.getPassword())
+                .load()
+                .migrate();
+    }
+}
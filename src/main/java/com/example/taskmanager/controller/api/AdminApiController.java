@@ -2,21 +2,32 @@ package com.example.taskmanager.controller.api;
 
 import com.example.taskmanager.dto.UserDto;
 import com.example.taskmanager.dto.StatisticsDto;
+import com.example.taskmanager.dto.TaskImportReport;
+import com.example.taskmanager.importer.ImportFormat;
 import com.example.taskmanager.model.Role;
 import com.example.taskmanager.model.User;
-import com.example.taskmanager.service.ITaskService;
+import com.example.taskmanager.service.IStatisticsService;
+import com.example.taskmanager.service.ITaskCounterService;
+import com.example.taskmanager.service.ITaskExportService;
+import com.example.taskmanager.service.ITaskImportService;
 import com.example.taskmanager.service.IUserService;
 import com.example.taskmanager.mapper.UserMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -26,8 +37,15 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 public class AdminApiController {
     
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
     private final IUserService userService;
-    private final ITaskService taskService;
+    private final IStatisticsService statisticsService;
+    private final ITaskCounterService taskCounterService;
+    private final ITaskExportService taskExportService;
+    private final ITaskImportService taskImportService;
     private final UserMapper userMapper;
     
     @GetMapping("/users")
@@ -56,14 +74,44 @@ public class AdminApiController {
     @GetMapping("/statistics")
     @Operation(summary = "Get system statistics")
     public ResponseEntity<StatisticsDto> getStatistics() {
-        StatisticsDto stats = new StatisticsDto();
-        stats.setTotalUsers(userService.getUserCount());
-        stats.setAdminUsers(userService.getAdminCount());
-        stats.setRegularUsers(userService.getRegularUserCount());
-        stats.setTotalTasks(taskService.findAllTasks().size());
-        stats.setPendingTasks(taskService.findTasksByStatus(com.example.taskmanager.model.TaskStatus.PENDING).size());
-        stats.setInProgressTasks(taskService.findTasksByStatus(com.example.taskmanager.model.TaskStatus.IN_PROGRESS).size());
-        stats.setCompletedTasks(taskService.findTasksByStatus(com.example.taskmanager.model.TaskStatus.COMPLETED).size());
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(statisticsService.getStatistics());
+    }
+    
+    @PostMapping("/task-counters/rebuild")
+    @Operation(summary = "Recompute every user's task status counters from the tasks table")
+    public ResponseEntity<Void> rebuildTaskCounters() {
+        taskCounterService.rebuildAll();
+        return ResponseEntity.noContent().build();
+    }
+    
+    @GetMapping("/tasks/export")
+    @Operation(summary = "Export all tasks as newline-delimited JSON, optionally gzip-compressed")
+    public void exportTasks(@RequestParam(defaultValue = "false") boolean gzip,
+                            HttpServletResponse response) throws IOException {
+        // Written straight to the response on the request thread, so the body never has to fit in memory
+        response.setContentType(gzip ? "application/gzip" : NDJSON);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(gzip ? "tasks.ndjson.gz" : "tasks.ndjson")
+                .build()
+                .toString());
+        if (gzip) {
+            GZIPOutputStream out = new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE);
+            taskExportService.exportTasks(out);
+            out.finish();
+        } else {
+            taskExportService.exportTasks(response.getOutputStream());
+        }
+    }
+    
+    @PostMapping(value = "/tasks/import", consumes = NDJSON)
+    @Operation(summary = "Bulk import tasks from newline-delimited JSON; returns a per-line error report")
+    public ResponseEntity<TaskImportReport> importTasksFromNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(taskImportService.importTasks(body, ImportFormat.NDJSON));
+    }
+    
+    @PostMapping(value = "/tasks/import", consumes = CSV)
+    @Operation(summary = "Bulk import tasks from CSV with a header row; returns a per-line error report")
+    public ResponseEntity<TaskImportReport> importTasksFromCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(taskImportService.importTasks(body, ImportFormat.CSV));
     }
 }
\ No newline at end of file
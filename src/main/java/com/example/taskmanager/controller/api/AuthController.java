@@ -19,7 +19,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -43,10 +42,9 @@ public class AuthController {
             new UsernamePasswordAuthenticationToken(authRequest.getLogin(), authRequest.getPassword())
         );
         
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        String token = jwtUtil.generateToken(userDetails);
+        User user = userService.findByUsername(authentication.getName());
+        String token = jwtUtil.generateToken(user);
         
-        User user = userService.findByUsername(authRequest.getLogin());
         AuthResponse response = new AuthResponse(token, user.getUsername(), user.getRole().name());
         
         logger.info("User logged in successfully: {}", authRequest.getLogin());
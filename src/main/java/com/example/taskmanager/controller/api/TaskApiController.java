@@ -1,63 +1,124 @@
 package com.example.taskmanager.controller.api;
 
+import com.example.taskmanager.config.AppProperties;
+import com.example.taskmanager.dto.CursorPage;
+import com.example.taskmanager.dto.TaskChangeFeed;
+import com.example.taskmanager.dto.TaskBatchUpdateDto;
 import com.example.taskmanager.dto.TaskCreateDto;
 import com.example.taskmanager.dto.TaskUpdateDto;
 import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.exception.BatchSizeExceededException;
 import com.example.taskmanager.model.Task;
 import com.example.taskmanager.model.TaskStatus;
+import com.example.taskmanager.service.ITaskChangeFeedService;
 import com.example.taskmanager.service.ITaskService;
+import com.example.taskmanager.service.IUserService;
+import com.example.taskmanager.service.TaskVersionTracker;
+import com.example.taskmanager.stream.TaskEventHub;
 import com.example.taskmanager.mapper.TaskMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/tasks")
 @SecurityRequirement(name = "Bearer Authentication")
 @Tag(name = "Tasks", description = "Task management APIs")
+@Validated
 @AllArgsConstructor
 public class TaskApiController {
     
+    // Responses are per user; clients may keep them but must revalidate with If-None-Match before reuse.
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    
     private ITaskService taskService;
     
     private TaskMapper taskMapper;
     
+    private AppProperties appProperties;
+    
+    private IUserService userService;
+    
+    private TaskVersionTracker taskVersions;
+    
+    private TaskEventHub taskEventHub;
+    
+    private ITaskChangeFeedService taskChangeFeedService;
+    
     @GetMapping
-    @Operation(summary = "Get user's tasks")
+    @Operation(summary = "Get user's tasks, newest first, one page at a time")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<List<TaskDto>> getUserTasks(Authentication authentication) {
-        List<TaskDto> tasks = taskService.findUserTasks(authentication.getName()).stream()
-            .map(taskMapper::toDto)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<CursorPage<TaskDto>> getUserTasks(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer limit,
+                                                            Authentication authentication,
+                                                            WebRequest request) {
+        int pageSize = appProperties.getPagination().resolveLimit(limit);
+        Optional<String> etag = userTasksTag(authentication);
+        return withETag(request, etag, () -> taskService.findUserTasksPage(authentication.getName(), cursor, pageSize));
     }
     
     @GetMapping("/all")
-    @Operation(summary = "Get all tasks (Admin only)")
+    @Operation(summary = "Get all tasks, newest first, one page at a time (Admin only)")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<TaskDto>> getAllTasks() {
-        List<TaskDto> tasks = taskService.findAllTasks().stream()
-            .map(taskMapper::toDto)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<CursorPage<TaskDto>> getAllTasks(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer limit,
+                                                           WebRequest request) {
+        int pageSize = appProperties.getPagination().resolveLimit(limit);
+        Optional<String> etag = taskVersions.isAllSettled() ? Optional.of(taskVersions.allTasksTag()) : Optional.empty();
+        return withETag(request, etag, () -> taskService.findAllTasksPage(cursor, pageSize));
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream changes to the user's tasks as server-sent events; resumes from Last-Event-ID")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public SseEmitter streamTasks(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                  Authentication authentication) {
+        return taskEventHub.subscribe(userService.findByUsername(authentication.getName()).getId(), lastEventId);
+    }
+    
+    @GetMapping("/changes")
+    @Operation(summary = "Get changes to the user's tasks since a change log position, one entry per task")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<TaskChangeFeed> getTaskChanges(@RequestParam(defaultValue = "0") long since,
+                                                         @RequestParam(required = false) Integer limit,
+                                                         Authentication authentication) {
+        return ResponseEntity.ok(taskChangeFeedService.getChanges(authentication.getName(), since, limit));
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Get task by ID")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<TaskDto> getTask(@PathVariable Long id) {
-        Task task = taskService.findTaskById(id);
-        return ResponseEntity.ok(taskMapper.toDto(task));
+    public ResponseEntity<TaskDto> getTask(@PathVariable Long id, WebRequest request) {
+        Optional<String> currentTag = taskVersions.currentTaskTag(id, request.getHeader(HttpHeaders.IF_NONE_MATCH));
+        if (currentTag.isPresent() && request.checkNotModified(currentTag.get())) {
+            return null;
+        }
+        // The owner is only known after loading, so the tag is read afterwards; skip it if anything changed meanwhile.
+        long versionBefore = taskVersions.globalVersion();
+        TaskDto task = taskMapper.toDto(taskService.findTaskById(id));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(REVALIDATE);
+        if (taskVersions.globalVersion() == versionBefore && taskVersions.isUserSettled(task.getUserId())) {
+            response.eTag(taskVersions.taskTag(id, task.getUserId()));
+        }
+        return response.body(task);
     }
     
     @PostMapping
@@ -69,6 +130,39 @@ public class TaskApiController {
         return new ResponseEntity<>(taskMapper.toDto(task), HttpStatus.CREATED);
     }
     
+    @PostMapping("/batch")
+    @Operation(summary = "Create several tasks in one request")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<List<TaskDto>> createTasks(@RequestBody List<@Valid TaskCreateDto> taskDtos,
+                                                     Authentication authentication) {
+        checkBatchSize(taskDtos.size());
+        List<TaskDto> tasks = taskService.createTasks(taskDtos, authentication.getName()).stream()
+            .map(taskMapper::toDto)
+            .collect(Collectors.toList());
+        return new ResponseEntity<>(tasks, HttpStatus.CREATED);
+    }
+    
+    @PutMapping("/batch")
+    @Operation(summary = "Update several tasks in one request; all or nothing")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<List<TaskDto>> updateTasks(@RequestBody List<@Valid TaskBatchUpdateDto> taskDtos,
+                                                     Authentication authentication) {
+        checkBatchSize(taskDtos.size());
+        List<TaskDto> tasks = taskService.updateTasks(taskDtos, authentication.getName()).stream()
+            .map(taskMapper::toDto)
+            .collect(Collectors.toList());
+        return ResponseEntity.ok(tasks);
+    }
+    
+    @PostMapping("/batch/delete")
+    @Operation(summary = "Delete several tasks in one request; all or nothing")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<Void> deleteTasks(@RequestBody List<Long> taskIds, Authentication authentication) {
+        checkBatchSize(taskIds.size());
+        taskService.deleteTasks(taskIds, authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+    
     @PutMapping("/{id}")
     @Operation(summary = "Update a task")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
@@ -91,21 +185,46 @@ public class TaskApiController {
     @Operation(summary = "Get tasks by status")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<List<TaskDto>> getTasksByStatus(@PathVariable TaskStatus status,
-                                                     Authentication authentication) {
-        List<TaskDto> tasks = taskService.findUserTasksByStatus(authentication.getName(), status).stream()
-            .map(taskMapper::toDto)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(tasks);
+                                                     Authentication authentication,
+                                                     WebRequest request) {
+        Optional<String> etag = userTasksTag(authentication);
+        return withETag(request, etag, () -> taskService.findUserTasksByStatus(authentication.getName(), status));
     }
     
     @GetMapping("/search")
-    @Operation(summary = "Search tasks by title")
+    @Operation(summary = "Search tasks by title, best match first")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<List<TaskDto>> searchTasks(@RequestParam String title,
+                                                @RequestParam(required = false) Integer limit,
                                                 Authentication authentication) {
-        List<TaskDto> tasks = taskService.searchUserTasks(authentication.getName(), title).stream()
-            .map(taskMapper::toDto)
-            .collect(Collectors.toList());
+        int maxResults = appProperties.getSearch().resolveLimit(limit);
+        List<TaskDto> tasks = taskService.searchUserTasks(authentication.getName(), title, maxResults);
         return ResponseEntity.ok(tasks);
     }
+    
+    // Empty while a recent change may not have reached the read replica yet.
+    private Optional<String> userTasksTag(Authentication authentication) {
+        Long userId = userService.findByUsername(authentication.getName()).getId();
+        return taskVersions.isUserSettled(userId) ? Optional.of(taskVersions.userTasksTag(userId)) : Optional.empty();
+    }
+    
+    // The tag is taken before the body is built, and a matching If-None-Match is answered with 304 without building it.
+    // Without a tag the body may be older than the current version, so it is sent untagged and cannot be revalidated.
+    private <T> ResponseEntity<T> withETag(WebRequest request, Optional<String> etag, Supplier<T> body) {
+        if (etag.isEmpty()) {
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(body.get());
+        }
+        if (request.checkNotModified(etag.get())) {
+            // 304 and the ETag header have already been written
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag.get()).cacheControl(REVALIDATE).body(body.get());
+    }
+    
+    private void checkBatchSize(int size) {
+        int maxItems = appProperties.getBatch().getMaxItems();
+        if (size > maxItems) {
+            throw new BatchSizeExceededException("Batch of " + size + " items exceeds the limit of " + maxItems);
+        }
+    }
 }
\ No newline at end of file
@@ -1,8 +1,7 @@
 package com.example.taskmanager.controller.web;
 
-import com.example.taskmanager.dto.StatisticsDto;
 import com.example.taskmanager.model.Role;
-import com.example.taskmanager.service.ITaskService;
+import com.example.taskmanager.service.IStatisticsService;
 import com.example.taskmanager.service.IUserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -18,7 +17,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 public class AdminWebController {
 
     private final IUserService userService;
-    private final ITaskService taskService;
+    private final IStatisticsService statisticsService;
 
     /**
      * Displays the main admin dashboard with statistics.
@@ -27,9 +26,7 @@ public class AdminWebController {
      */
     @GetMapping
     public String adminDashboard(Model model) {
-        model.addAttribute("userCount", userService.getUserCount());
-        model.addAttribute("adminCount", userService.getAdminCount());
-        model.addAttribute("taskCount", taskService.findAllTasks().size());
+        model.addAttribute("stats", statisticsService.getStatistics());
         return "admin/dashboard";
     }
 
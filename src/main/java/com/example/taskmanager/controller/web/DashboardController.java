@@ -1,6 +1,6 @@
 package com.example.taskmanager.controller.web;
 
-import com.example.taskmanager.model.Task;
+import com.example.taskmanager.dto.TaskDto;
 import com.example.taskmanager.model.TaskStatus;
 import com.example.taskmanager.service.ITaskService;
 import lombok.RequiredArgsConstructor;
@@ -10,22 +10,22 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Controller
 @RequiredArgsConstructor
 public class DashboardController {
 
+    private static final int RECENT_TASKS_LIMIT = 10;
+
     private final ITaskService taskService;
 
     @GetMapping("/dashboard")
     public String dashboard(Model model, Authentication authentication) {
         String username = authentication.getName();
-        List<Task> tasks = taskService.findUserTasks(username);
+        List<TaskDto> tasks = taskService.findUserTasksPage(username, null, RECENT_TASKS_LIMIT).getItems();
 
-                // Efficiently count all statuses in a single pass
-        Map<TaskStatus, Long> statusCounts = tasks.stream()
-                .collect(Collectors.groupingBy(Task::getStatus, Collectors.counting()));
+                // Counters are maintained on every task change, so this does not depend on the number of tasks
+        Map<TaskStatus, Long> statusCounts = taskService.getUserTaskCounts(username);
 
         model.addAttribute("tasks", tasks);
         model.addAttribute("pendingCount", statusCounts.getOrDefault(TaskStatus.PENDING, 0L));
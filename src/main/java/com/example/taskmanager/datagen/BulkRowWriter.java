@@ -0,0 +1,191 @@
+package com.example.taskmanager.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Appends rows to one table as fast as the database allows, committing every {@code rowsPerTransaction} rows.
+ * <p>
+ * On PostgreSQL rows are streamed with {@code COPY ... FROM STDIN}; anywhere else they are sent as multi-row
+ * {@code INSERT} statements of {@code rowsPerStatement} rows. Both skip per-row round trips and statement
+ * parsing, which is what makes millions of rows a matter of minutes.
+ */
+abstract class BulkRowWriter implements AutoCloseable {
+
+    protected final Connection connection;
+    protected final String table;
+    protected final List<String> columns;
+    private final int rowsPerTransaction;
+    private long rowsInTransaction;
+    private long rowsWritten;
+
+    protected BulkRowWriter(Connection connection, String table, List<String> columns, int rowsPerTransaction) {
+        this.connection = connection;
+        this.table = table;
+        this.columns = columns;
+        this.rowsPerTransaction = rowsPerTransaction;
+    }
+
+    static BulkRowWriter open(Connection connection, SqlDialect dialect, String table, List<String> columns,
+                              int rowsPerStatement, int rowsPerTransaction) throws SQLException {
+        return dialect == SqlDialect.POSTGRES
+                ? new CopyWriter(connection, table, columns, rowsPerTransaction)
+                : new MultiRowInsertWriter(connection, table, columns, rowsPerStatement, rowsPerTransaction);
+    }
+
+    /**
+     * Adds a row; values are in column order and may be null.
+     */
+    void add(Object... values) throws SQLException {
+        if (values.length != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " values for " + table + ", got " + values.length);
+        }
+        append(values);
+        rowsWritten++;
+        if (++rowsInTransaction >= rowsPerTransaction) {
+            commit();
+            rowsInTransaction = 0;
+        }
+    }
+
+    long rowsWritten() {
+        return rowsWritten;
+    }
+
+    /**
+     * Writes and commits the remaining rows.
+     */
+    @Override
+    public void close() throws SQLException {
+        commit();
+    }
+
+    protected abstract void append(Object[] values) throws SQLException;
+
+    protected abstract void commit() throws SQLException;
+
+    /**
+     * One {@code COPY} per transaction, fed from a CSV buffer.
+     */
+    private static final class CopyWriter extends BulkRowWriter {
+        private final CopyManager copyManager;
+        private final String copySql;
+        private final StringBuilder csv = new StringBuilder();
+
+        CopyWriter(Connection connection, String table, List<String> columns, int rowsPerTransaction) throws SQLException {
+            super(connection, table, columns, rowsPerTransaction);
+            this.copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            this.copySql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+        }
+
+        @Override
+        protected void append(Object[] values) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    csv.append(',');
+                }
+                appendCsv(values[i]);
+            }
+            csv.append('\n');
+        }
+
+        // An unquoted empty field is NULL in CSV format; text is always quoted.
+        private void appendCsv(Object value) {
+            if (value == null) {
+                return;
+            }
+            if (value instanceof String text) {
+                csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else {
+                csv.append(value);
+            }
+        }
+
+        @Override
+        protected void commit() throws SQLException {
+            if (csv.isEmpty()) {
+                return;
+            }
+            try {
+                // The connection is in auto-commit mode, so the COPY commits on its own.
+                copyManager.copyIn(copySql, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new SQLException("COPY into " + table + " failed", e);
+            }
+            csv.setLength(0);
+        }
+    }
+
+    /**
+     * Full statements of {@code rowsPerStatement} rows through one prepared statement, plus a shorter one at the end.
+     */
+    private static final class MultiRowInsertWriter extends BulkRowWriter {
+        private final int rowsPerStatement;
+        private final PreparedStatement fullStatement;
+        private final List<Object[]> pending = new ArrayList<>();
+        private final boolean autoCommit;
+
+        MultiRowInsertWriter(Connection connection, String table, List<String> columns, int rowsPerStatement,
+                             int rowsPerTransaction) throws SQLException {
+            super(connection, table, columns, rowsPerTransaction);
+            this.rowsPerStatement = rowsPerStatement;
+            this.autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            this.fullStatement = connection.prepareStatement(insertSql(rowsPerStatement));
+        }
+
+        @Override
+        protected void append(Object[] values) throws SQLException {
+            pending.add(values);
+            if (pending.size() == rowsPerStatement) {
+                execute(fullStatement);
+            }
+        }
+
+        @Override
+        protected void commit() throws SQLException {
+            if (!pending.isEmpty()) {
+                try (PreparedStatement partial = connection.prepareStatement(insertSql(pending.size()))) {
+                    execute(partial);
+                }
+            }
+            connection.commit();
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                super.close();
+            } finally {
+                fullStatement.close();
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+
+        private void execute(PreparedStatement statement) throws SQLException {
+            int parameter = 1;
+            for (Object[] row : pending) {
+                for (Object value : row) {
+                    statement.setObject(parameter++, value);
+                }
+            }
+            statement.executeUpdate();
+            pending.clear();
+        }
+
+        private String insertSql(int rows) {
+            String row = "(" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+            return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES "
+                    + String.join(", ", Collections.nCopies(rows, row));
+        }
+    }
+}
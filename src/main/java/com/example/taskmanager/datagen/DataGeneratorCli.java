@@ -0,0 +1,48 @@
+package com.example.taskmanager.datagen;
+
+import com.example.taskmanager.TaskManagerApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+
+/**
+ * Command-line entry point: migrates the configured database, generates the dataset and exits.
+ * Arguments are Spring properties, e.g.
+ * {@code --spring.profiles.active=docker --app.data-generator.tasks=10000000}.
+ * <p>
+ * Refuses to run against an in-memory database, which would be thrown away on exit, and skips building
+ * the task title index, which nothing would query.
+ */
+public final class DataGeneratorCli {
+
+    private static final String URL_PROPERTY = "spring.datasource.url";
+
+    private DataGeneratorCli() {
+    }
+
+    public static void main(String[] args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .profiles(DataGeneratorRunner.PROFILE)
+                .web(WebApplicationType.NONE)
+                .properties(Map.of("app.search.index-enabled", "false"))
+                .listeners(requirePersistentDatabase())
+                .run(args);
+        System.exit(SpringApplication.exit(context));
+    }
+
+    private static ApplicationListener<ApplicationEnvironmentPreparedEvent> requirePersistentDatabase() {
+        return event -> {
+            String url = event.getEnvironment().getProperty(URL_PROPERTY, "");
+            if (url.contains(":mem:")) {
+                throw new IllegalStateException("Refusing to generate into the in-memory database " + url
+                        + ", which is discarded on exit; pick a persistent one, e.g. --spring.profiles.active=docker or --"
+                        + URL_PROPERTY + "=jdbc:h2:file:./data/taskmanager");
+            }
+        };
+    }
+}
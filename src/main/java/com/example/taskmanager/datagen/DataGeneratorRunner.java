@@ -0,0 +1,26 @@
+package com.example.taskmanager.datagen;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates the {@code app.data-generator} dataset on startup when the {@code datagen} profile is active.
+ * The application then starts serving as usual, on top of the generated data.
+ */
+@Component
+@Profile(DataGeneratorRunner.PROFILE)
+@RequiredArgsConstructor
+public class DataGeneratorRunner implements ApplicationRunner {
+
+    public static final String PROFILE = "datagen";
+
+    private final SyntheticDataGenerator generator;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        generator.generate();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.taskmanager.datagen;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The few statements the generator needs that H2 and PostgreSQL spell differently.
+ */
+enum SqlDialect {
+    POSTGRES {
+        @Override
+        String nextTaskId() {
+            return "SELECT nextval('task_id_seq')";
+        }
+
+        @Override
+        String restartUserIds(long next) {
+            return "SELECT setval(pg_get_serial_sequence('users', 'id'), " + next + ", false)";
+        }
+    },
+    H2 {
+        @Override
+        String nextTaskId() {
+            return "SELECT NEXT VALUE FOR task_id_seq";
+        }
+
+        @Override
+        String restartUserIds(long next) {
+            return "ALTER TABLE users ALTER COLUMN id RESTART WITH " + next;
+        }
+    };
+
+    abstract String nextTaskId();
+
+    abstract String restartUserIds(long next);
+
+    static SqlDialect of(Connection connection) throws SQLException {
+        return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()) ? POSTGRES : H2;
+    }
+}
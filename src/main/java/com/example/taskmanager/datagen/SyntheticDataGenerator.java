@@ -0,0 +1,228 @@
+package com.example.taskmanager.datagen;
+
+import com.example.taskmanager.cache.EntityCache;
+import com.example.taskmanager.config.AppProperties;
+import com.example.taskmanager.model.Role;
+import com.example.taskmanager.model.TaskStatus;
+import com.example.taskmanager.service.ITaskCounterService;
+import db.migration.V4__task_id_sequence;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Fills {@code users} and {@code tasks} with synthetic data of realistic shape, configured by
+ * {@code app.data-generator}: tasks per user and title words follow Zipf's law, statuses follow fixed weights.
+ * <p>
+ * Rows are written with explicit ids through {@link BulkRowWriter}, bypassing JPA, the change log and the caches;
+ * afterwards the id sequences are moved past the new rows, the task counters are rebuilt and the second-level
+ * cache is emptied, here and on the other instances. The in-memory title index is rebuilt at application start,
+ * so callers generating into a running application rebuild it themselves.
+ * Meant for an otherwise idle database: ids are taken from the sequences up front, not row by row.
+ */
+@Component
+@RequiredArgsConstructor
+public class SyntheticDataGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final List<String> USER_COLUMNS =
+            List.of("id", "username", "email", "password", "role", "created_at", "updated_at");
+    private static final List<String> TASK_COLUMNS =
+            List.of("id", "title", "description", "status", "user_id", "created_at", "updated_at");
+    private static final long PROGRESS_EVERY = 1_000_000;
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final ITaskCounterService taskCounterService;
+    private final EntityCache entityCache;
+    private final AppProperties appProperties;
+
+    public record Summary(int users, long tasks, long firstUserId, Duration elapsed) {
+    }
+
+    public Summary generate() throws SQLException {
+        return generate(appProperties.getDataGenerator());
+    }
+
+    /**
+     * Generates the configured number of users and tasks.
+     * @param spec What to generate.
+     * @return The generated counts; users have consecutive ids starting at {@code firstUserId}.
+     * @throws IllegalStateException If users with the configured prefix already exist.
+     */
+    public Summary generate(AppProperties.DataGenerator spec) throws SQLException {
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(spec.getSeed());
+        LocalDateTime now = LocalDateTime.now();
+        long window = Math.max(1, spec.getCreatedWithin().toSeconds());
+
+        long firstUserId;
+        long written;
+        try (Connection connection = dataSource.getConnection()) {
+            SqlDialect dialect = SqlDialect.of(connection);
+            if (queryLong(connection, "SELECT COUNT(*) FROM users WHERE username = ?", spec.getUsernamePrefix() + "0") > 0) {
+                throw new IllegalStateException("Generated users '" + spec.getUsernamePrefix()
+                        + "*' already exist; pick another app.data-generator.username-prefix");
+            }
+            firstUserId = queryLong(connection, "SELECT COALESCE(MAX(id), 0) + 1 FROM users");
+            logger.info("Generating {} users and {} tasks (zipf exponent {}) into {}",
+                    spec.getUsers(), spec.getTasks(), spec.getZipfExponent(), dialect);
+
+            String passwordHash = passwordEncoder.encode(spec.getPassword());
+            try (BulkRowWriter users = BulkRowWriter.open(connection, dialect, "users", USER_COLUMNS,
+                    spec.getRowsPerStatement(), spec.getRowsPerTransaction())) {
+                for (int u = 0; u < spec.getUsers(); u++) {
+                    String username = spec.getUsernamePrefix() + u;
+                    Timestamp createdAt = Timestamp.valueOf(now.minusSeconds(random.nextLong(window)));
+                    users.add(firstUserId + u, username, username + "@example.com", passwordHash,
+                            Role.USER.name(), createdAt, createdAt);
+                }
+            }
+            execute(connection, dialect.restartUserIds(firstUserId + spec.getUsers()));
+
+            long firstTaskId = firstFreeTaskId(connection, dialect);
+            written = writeTasks(connection, dialect, spec, random, now, window, firstUserId, firstTaskId);
+            // The pooled optimizer hands out the ids below each value it reads, so leave a block of headroom.
+            execute(connection, "ALTER SEQUENCE task_id_seq RESTART WITH "
+                    + (firstTaskId + written + V4__task_id_sequence.ALLOCATION_SIZE - 1));
+            if (dialect == SqlDialect.POSTGRES) {
+                execute(connection, "ANALYZE users");
+                execute(connection, "ANALYZE tasks");
+            }
+        }
+
+        taskCounterService.rebuildAll();
+        entityCache.evictAll();
+        Summary summary = new Summary(spec.getUsers(), written, firstUserId, Duration.ofNanos(System.nanoTime() - started));
+        logger.info("Generated {} users and {} tasks in {}", summary.users(), summary.tasks(), summary.elapsed());
+        return summary;
+    }
+
+    private long writeTasks(Connection connection, SqlDialect dialect, AppProperties.DataGenerator spec,
+                            SplittableRandom random, LocalDateTime now, long window,
+                            long firstUserId, long firstTaskId) throws SQLException {
+        long[] tasksByRank = ZipfDistribution.allocate(spec.getTasks(), spec.getUsers(), spec.getZipfExponent());
+        // Spread the heavy ranks over the id range instead of giving them to the oldest users.
+        int[] userByRank = shuffledRanks(spec.getUsers(), random);
+        ZipfDistribution words = new ZipfDistribution(spec.getVocabulary().size(), 1.0);
+        StatusPicker statuses = new StatusPicker(spec.getStatusWeights());
+
+        long taskId = firstTaskId;
+        try (BulkRowWriter tasks = BulkRowWriter.open(connection, dialect, "tasks", TASK_COLUMNS,
+                spec.getRowsPerStatement(), spec.getRowsPerTransaction())) {
+            for (int rank = 0; rank < tasksByRank.length; rank++) {
+                long userId = firstUserId + userByRank[rank];
+                for (long i = 0; i < tasksByRank[rank]; i++) {
+                    Timestamp createdAt = Timestamp.valueOf(now.minusSeconds(random.nextLong(window)));
+                    String description = random.nextDouble() < spec.getDescriptionRatio()
+                            ? "Notes on " + title(spec, words, random, 2)
+                            : null;
+                    tasks.add(taskId++, title(spec, words, random, spec.getTitleWords()), description,
+                            statuses.pick(random).name(), userId, createdAt, createdAt);
+                    if (tasks.rowsWritten() % PROGRESS_EVERY == 0) {
+                        logger.info("Generated {} of {} tasks", tasks.rowsWritten(), spec.getTasks());
+                    }
+                }
+            }
+            return taskId - firstTaskId;
+        }
+    }
+
+    // Above every existing row and every block a running instance may already hold.
+    private static long firstFreeTaskId(Connection connection, SqlDialect dialect) throws SQLException {
+        long nextValue = queryLong(connection, dialect.nextTaskId());
+        long maxId = queryLong(connection, "SELECT COALESCE(MAX(id), 0) FROM tasks");
+        return Math.max(maxId, nextValue) + 1;
+    }
+
+    private static String title(AppProperties.DataGenerator spec, ZipfDistribution words, SplittableRandom random, int count) {
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                title.append(' ');
+            }
+            title.append(spec.getVocabulary().get(words.sample(random)));
+        }
+        return title.length() > 100 ? title.substring(0, 100) : title.toString();
+    }
+
+    private static int[] shuffledRanks(int n, SplittableRandom random) {
+        int[] ranks = new int[n];
+        for (int i = 0; i < n; i++) {
+            ranks[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = ranks[i];
+            ranks[i] = ranks[j];
+            ranks[j] = swap;
+        }
+        return ranks;
+    }
+
+    private static long queryLong(Connection connection, String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    // Cumulative weights, so a pick is one random number and a short scan.
+    private static final class StatusPicker {
+        private final TaskStatus[] statuses;
+        private final int[] cumulative;
+
+        StatusPicker(Map<TaskStatus, Integer> weights) {
+            List<Map.Entry<TaskStatus, Integer>> entries = weights.entrySet().stream()
+                    .filter(entry -> entry.getValue() > 0)
+                    .toList();
+            if (entries.isEmpty()) {
+                throw new IllegalArgumentException("app.data-generator.status-weights must give some status a positive weight");
+            }
+            statuses = new TaskStatus[entries.size()];
+            cumulative = new int[entries.size()];
+            int sum = 0;
+            for (int i = 0; i < entries.size(); i++) {
+                statuses[i] = entries.get(i).getKey();
+                sum += entries.get(i).getValue();
+                cumulative[i] = sum;
+            }
+        }
+
+        TaskStatus pick(SplittableRandom random) {
+            int target = random.nextInt(cumulative[cumulative.length - 1]);
+            for (int i = 0; i < cumulative.length; i++) {
+                if (target < cumulative[i]) {
+                    return statuses[i];
+                }
+            }
+            return statuses[statuses.length - 1];
+        }
+    }
+}
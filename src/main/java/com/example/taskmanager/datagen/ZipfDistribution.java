@@ -0,0 +1,64 @@
+package com.example.taskmanager.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf's law over ranks {@code 0..n-1}: rank {@code r} has weight {@code 1 / (r + 1)^exponent}. An exponent of 0
+ * makes every rank equally likely; around 1 a few ranks dominate, which is what real ownership data looks like.
+ */
+public final class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    public ZipfDistribution(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("A Zipf distribution needs at least one rank");
+        }
+        double[] weights = weights(n, exponent);
+        cumulative = new double[n];
+        double sum = 0;
+        for (int r = 0; r < n; r++) {
+            sum += weights[r];
+            cumulative[r] = sum;
+        }
+    }
+
+    /**
+     * @return A rank drawn from the distribution.
+     */
+    public int sample(SplittableRandom random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, target);
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+
+    /**
+     * Splits {@code total} items over {@code n} ranks in proportion to their weights, without sampling noise.
+     * Rounding leftovers go to the highest ranks, so counts never increase with rank and always add up to the total.
+     */
+    public static long[] allocate(long total, int n, double exponent) {
+        double[] weights = weights(n, exponent);
+        double sum = Arrays.stream(weights).sum();
+        long[] counts = new long[n];
+        long assigned = 0;
+        for (int r = 0; r < n; r++) {
+            counts[r] = (long) Math.floor(total * weights[r] / sum);
+            assigned += counts[r];
+        }
+        for (int r = 0; assigned < total; r = (r + 1) % n) {
+            counts[r]++;
+            assigned++;
+        }
+        return counts;
+    }
+
+    private static double[] weights(int n, double exponent) {
+        double[] weights = new double[n];
+        for (int r = 0; r < n; r++) {
+            weights[r] = 1.0 / Math.pow(r + 1, exponent);
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.taskmanager.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * <p>
+ * The route is decided when a connection is first needed, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: JPA opens its connection while
+ * the transaction begins, before Spring has marked it read-only.
+ * <p>
+ * Read-your-writes: after a read-write transaction of an authenticated user commits, that user's reads go to
+ * the primary for {@code readYourWritesWindow}, which should exceed the usual replication lag. This is tracked
+ * per instance, so it only covers users whose next request reaches the same instance.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(100_000)
+                .build();
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    /**
+     * @return Where a connection taken now would go; a read-write transaction asking for one is recorded
+     * as a write by the current user, effective when it commits.
+     */
+    public Route currentRoute() {
+        String username = currentUsername();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return username != null && recentWriters.getIfPresent(username) != null ? Route.PRIMARY : Route.REPLICA;
+        }
+        if (username != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentWriters.put(username, Boolean.TRUE);
+                }
+            });
+        }
+        return Route.PRIMARY;
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
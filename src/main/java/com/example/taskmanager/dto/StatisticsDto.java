@@ -11,4 +11,5 @@ public class StatisticsDto {
     private long pendingTasks;
     private long inProgressTasks;
     private long completedTasks;
+    private long cancelledTasks;
 } 
\ No newline at end of file
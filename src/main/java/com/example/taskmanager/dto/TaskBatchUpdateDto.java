@@ -0,0 +1,23 @@
+package com.example.taskmanager.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class TaskBatchUpdateDto {
+    @NotNull(message = "Task id is required")
+    private Long id;
+
+    // Omitted fields are left unchanged; given ones must satisfy the Task entity's limits.
+    @Pattern(regexp = "(?s).*\\S.*", message = "Title must not be blank")
+    @Size(max = 100, message = "Title must not exceed 100 characters")
+    private String title;
+
+    @Size(max = 500, message = "Description must not exceed 500 characters")
+    private String description;
+
+    @Pattern(regexp = "PENDING|IN_PROGRESS|COMPLETED|CANCELLED", message = "Unknown task status")
+    private String status;
+}
@@ -0,0 +1,25 @@
+package com.example.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Changes to a user's tasks since a point in the change log, one entry per task.
+ * Pass {@code next} as {@code since} on the next call; while {@code more} is set there is another page.
+ * When {@code reset} is set the log no longer reaches back far enough: reload all tasks, then continue from {@code next}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskChangeFeed {
+    // Created or updated tasks in their current state.
+    private List<TaskDto> changed;
+    // Tombstones: IDs of deleted tasks.
+    private List<Long> deleted;
+    private long next;
+    private boolean more;
+    private boolean reset;
+}
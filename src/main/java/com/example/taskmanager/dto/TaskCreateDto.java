@@ -1,9 +1,16 @@
 package com.example.taskmanager.dto;
 
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 @Data
 public class TaskCreateDto {
+    // Same limits as the Task entity, so bad input is rejected before it reaches the database.
+    @NotBlank(message = "Title is required")
+    @Size(max = 100, message = "Title must not exceed 100 characters")
     private String title;
+
+    @Size(max = 500, message = "Description must not exceed 500 characters")
     private String description;
-}
\ No newline at end of file
+}
@@ -1,13 +1,20 @@
 package com.example.taskmanager.dto;
 
 import com.example.taskmanager.model.TaskStatus;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
 
 @Data
+@AllArgsConstructor
+@NoArgsConstructor
 public class TaskDto {
     private Long id;
     private String title;
     private String description;
     private TaskStatus status;
     private Long userId;
+    private LocalDateTime createdAt;
 } 
\ No newline at end of file
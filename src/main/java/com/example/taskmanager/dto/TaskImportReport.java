@@ -0,0 +1,27 @@
+package com.example.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskImportReport {
+    private long received;
+    private long imported;
+    private long failed;
+    // Sorted by line; holds at most app.bulk-import.max-reported-errors entries.
+    private List<LineError> errors;
+    private boolean errorsTruncated;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class LineError {
+        private long line;
+        private String message;
+    }
+}
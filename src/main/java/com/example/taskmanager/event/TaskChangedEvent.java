@@ -0,0 +1,42 @@
+package com.example.taskmanager.event;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by the task service for every task it creates, updates or deletes.
+ * Carries a snapshot of the task so listeners never have to touch the persistence context.
+ */
+public record TaskChangedEvent(ChangeType type,
+                               Long taskId,
+                               Long userId,
+                               String title,
+                               String description,
+                               TaskStatus status,
+                               LocalDateTime createdAt) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TaskChangedEvent created(Task task) {
+        return of(ChangeType.CREATED, task);
+    }
+
+    public static TaskChangedEvent updated(Task task) {
+        return of(ChangeType.UPDATED, task);
+    }
+
+    public static TaskChangedEvent deleted(Task task) {
+        return of(ChangeType.DELETED, task);
+    }
+
+    private static TaskChangedEvent of(ChangeType type, Task task) {
+        return new TaskChangedEvent(type, task.getId(), task.getUser().getId(), task.getTitle(),
+                task.getDescription(), task.getStatus(), task.getCreatedAt());
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.taskmanager.exception;
+
+import lombok.Getter;
+
+@Getter
+public class PasswordHashingBusyException extends RuntimeException {
+    private final int retryAfterSeconds;
+
+    public PasswordHashingBusyException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
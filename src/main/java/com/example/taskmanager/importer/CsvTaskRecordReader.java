@@ -0,0 +1,143 @@
+package com.example.taskmanager.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads RFC 4180 CSV with a header row naming the columns {@code username}, {@code title} and,
+ * optionally, {@code description} and {@code status}, in any order. Quoted fields may contain
+ * commas, doubled quotes and line breaks. Empty rows are skipped.
+ */
+public class CsvTaskRecordReader implements TaskRecordReader {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("username", "title");
+
+    private final BufferedReader reader;
+    private Map<String, Integer> columns;
+    private long lineNumber = 1;
+    private boolean endOfInput;
+
+    public CsvTaskRecordReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public TaskImportRecord next() throws IOException {
+        if (columns == null) {
+            readHeader();
+        }
+        while (true) {
+            long startLine = lineNumber;
+            List<String> fields = readRow();
+            if (fields == null) {
+                return null;
+            }
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue;
+            }
+            if (fields.size() > columns.size()) {
+                throw new MalformedRecordException(startLine,
+                        "Expected at most " + columns.size() + " fields but found " + fields.size());
+            }
+            return new TaskImportRecord(startLine, field(fields, "username"), field(fields, "title"),
+                    field(fields, "description"), field(fields, "status"));
+        }
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = readRow();
+        if (header == null) {
+            columns = Map.of();
+            return;
+        }
+        columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                // Nothing after a bad header can be interpreted, so stop here.
+                endOfInput = true;
+                throw new MalformedRecordException(1, "CSV header is missing the '" + column + "' column");
+            }
+        }
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    // Returns the fields of the next row, or null at the end of the input.
+    private List<String> readRow() throws IOException {
+        if (endOfInput) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean sawAnything = false;
+        while (true) {
+            int c = reader.read();
+            if (c == -1) {
+                endOfInput = true;
+                if (quoted) {
+                    throw new MalformedRecordException(lineNumber, "Unterminated quoted field");
+                }
+                if (!sawAnything) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            sawAnything = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                lineNumber++;
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
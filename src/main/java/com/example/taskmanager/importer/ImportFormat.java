@@ -0,0 +1,6 @@
+package com.example.taskmanager.importer;
+
+public enum ImportFormat {
+    NDJSON,
+    CSV
+}
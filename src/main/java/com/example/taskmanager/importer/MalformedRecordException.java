@@ -0,0 +1,17 @@
+package com.example.taskmanager.importer;
+
+import lombok.Getter;
+
+/**
+ * Thrown by a {@link TaskRecordReader} for a record it cannot parse. The reader stays usable,
+ * so the import reports the line and carries on with the next record.
+ */
+@Getter
+public class MalformedRecordException extends RuntimeException {
+    private final long line;
+
+    public MalformedRecordException(long line, String message) {
+        super(message);
+        this.line = line;
+    }
+}
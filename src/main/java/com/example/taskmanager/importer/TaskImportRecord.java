@@ -0,0 +1,8 @@
+package com.example.taskmanager.importer;
+
+/**
+ * One raw task read from an import stream, before validation.
+ * {@code line} is the 1-based line the record starts on and is what the error report refers to.
+ */
+public record TaskImportRecord(long line, String username, String title, String description, String status) {
+}
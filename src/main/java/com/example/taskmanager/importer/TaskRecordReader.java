@@ -0,0 +1,32 @@
+package com.example.taskmanager.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pulls task records one at a time from an import stream, so only the current record is held in memory.
+ */
+public interface TaskRecordReader extends Closeable {
+
+    /**
+     * Reads the next record.
+     * @return The record, or null at the end of the input.
+     * @throws MalformedRecordException If the record cannot be parsed; the following call moves on to the next record.
+     * @throws IOException If reading the stream fails.
+     */
+    TaskImportRecord next() throws IOException;
+
+    static TaskRecordReader open(ImportFormat format, InputStream in, ObjectMapper objectMapper) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        return switch (format) {
+            case NDJSON -> new NdjsonTaskRecordReader(reader, objectMapper);
+            case CSV -> new CsvTaskRecordReader(reader);
+        };
+    }
+}
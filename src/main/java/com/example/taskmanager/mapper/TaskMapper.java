@@ -13,6 +13,7 @@ public class TaskMapper {
         dto.setDescription(task.getDescription());
         dto.setStatus(task.getStatus());
         dto.setUserId(task.getUser().getId());
+        dto.setCreatedAt(task.getCreatedAt());
         return dto;
     }
 } 
\ No newline at end of file
@@ -1,23 +1,29 @@
 package com.example.taskmanager.model;
 
+import com.example.taskmanager.cache.EntityCacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "tasks")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.TASKS)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class Task {
     
+    // Block allocation from task_id_seq (see V4) lets Hibernate batch INSERTs, which IDENTITY prevents.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_id_seq")
+    @SequenceGenerator(name = "task_id_seq", sequenceName = "task_id_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Title is required")
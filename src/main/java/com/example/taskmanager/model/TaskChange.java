@@ -0,0 +1,38 @@
+package com.example.taskmanager.model;
+
+import com.example.taskmanager.event.TaskChangedEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the task change log. Entries are inserted by {@link com.example.taskmanager.service.TaskChangeLog}
+ * and only read and compacted through JPA.
+ */
+@Entity
+@Table(name = "task_changes")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private TaskChangedEvent.ChangeType changeType;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
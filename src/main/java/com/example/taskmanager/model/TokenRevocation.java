@@ -0,0 +1,30 @@
+package com.example.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tokens issued to a user below {@code minTokenVersion} are no longer accepted.
+ * The row is only needed until {@code expiresAt}, when all of those tokens have expired.
+ */
+@Entity
+@Table(name = "token_revocations")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenRevocation {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "min_token_version", nullable = false)
+    private long minTokenVersion;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -1,10 +1,15 @@
 package com.example.taskmanager.model;
 
+import com.example.taskmanager.cache.EntityCacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,8 +18,11 @@ import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
+// Read-write rather than nonstrict: a role change or deletion must not be served stale from the cache.
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.USERS)
+@NaturalIdCache(region = EntityCacheRegions.USERS_BY_USERNAME)
 @Getter
 @Setter
 @RequiredArgsConstructor
@@ -24,6 +32,8 @@ public class User implements UserDetails {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    // Immutable once registered; lookups by username resolve through the natural-id cache.
+    @NaturalId
     @NotBlank(message = "Username is required")
     @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
     @Column(unique = true, nullable = false)
@@ -52,6 +62,10 @@ public class User implements UserDetails {
     @Column(name = "is_enabled")
     private boolean enabled = true;
 
+    // Embedded in issued JWTs; raising it makes older tokens invalid (see TokenRevocationRegistry).
+    @Column(name = "token_version", nullable = false)
+    private long tokenVersion;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
@@ -0,0 +1,24 @@
+package com.example.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of tasks a user has in one status.
+ * Maintained by the task service in the same transaction as the task change itself.
+ */
+@Entity
+@Table(name = "user_task_counters")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserTaskCounter {
+
+    @EmbeddedId
+    private UserTaskCounterId id;
+
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+}
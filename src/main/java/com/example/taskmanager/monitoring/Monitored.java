@@ -0,0 +1,23 @@
+package com.example.taskmanager.monitoring;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Times calls through the Spring proxy as the {@code service.operation} timer, tagged with service, method and
+ * outcome. On a class it covers every public method, including ones added later; calls a bean makes to itself
+ * bypass the proxy and are not timed separately.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Monitored {
+
+    /**
+     * @return The {@code service} tag; defaults to the simple name of the class.
+     */
+    String value() default "";
+}
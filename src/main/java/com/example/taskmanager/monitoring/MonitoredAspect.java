@@ -0,0 +1,71 @@
+package com.example.taskmanager.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Records {@link Monitored} calls in the {@code service.operation} timer with a percentile histogram, so that
+ * latency quantiles per operation can be computed in Prometheus. {@code outcome} is {@code success} or
+ * {@code error}, and {@code exception} names the exception class. Calls returning a {@link CompletionStage}
+ * are timed until it completes.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MonitoredAspect {
+
+    public static final String TIMER_NAME = "service.operation";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * *(..)) && (@within(com.example.taskmanager.monitoring.Monitored) " +
+            "|| @annotation(com.example.taskmanager.monitoring.Monitored))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        String service = serviceName(method, targetClass);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            record(sample, service, method.getName(), e);
+            throw e;
+        }
+        if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete((value, error) -> record(sample, service, method.getName(), error));
+        } else {
+            record(sample, service, method.getName(), null);
+        }
+        return result;
+    }
+
+    private void record(Timer.Sample sample, String service, String method, Throwable error) {
+        sample.stop(Timer.builder(TIMER_NAME)
+                .description("Service operation latency")
+                .tag("service", service)
+                .tag("method", method)
+                .tag("outcome", error == null ? "success" : "error")
+                .tag("exception", error == null ? "none" : error.getClass().getSimpleName())
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private static String serviceName(Method method, Class<?> targetClass) {
+        Monitored monitored = AnnotatedElementUtils.findMergedAnnotation(method, Monitored.class);
+        if (monitored == null) {
+            monitored = AnnotatedElementUtils.findMergedAnnotation(targetClass, Monitored.class);
+        }
+        return monitored != null && !monitored.value().isEmpty() ? monitored.value() : targetClass.getSimpleName();
+    }
+}
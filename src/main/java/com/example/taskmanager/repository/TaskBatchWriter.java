@@ -0,0 +1,57 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.config.AppProperties;
+import com.example.taskmanager.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Writes large numbers of tasks through the persistence context in fixed-size chunks.
+ * <p>
+ * Each chunk is flushed, which Hibernate sends as JDBC batches of {@code hibernate.jdbc.batch_size}
+ * statements, and then cleared, so memory does not grow with the size of the request.
+ * Clearing detaches every entity the caller loaded earlier in the transaction.
+ * New tasks are not put into the second-level cache, which a large import would otherwise flush out.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskBatchWriter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final AppProperties appProperties;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void persistAll(List<Task> tasks) {
+        int flushSize = appProperties.getBatch().getFlushSize();
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previousCacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        try {
+            for (int i = 0; i < tasks.size(); i++) {
+                entityManager.persist(tasks.get(i));
+                if ((i + 1) % flushSize == 0) {
+                    flushAndClear();
+                }
+            }
+            flushAndClear();
+        } finally {
+            session.setCacheMode(previousCacheMode);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
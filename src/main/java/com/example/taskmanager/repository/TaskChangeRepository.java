@@ -0,0 +1,51 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.model.TaskChange;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskChangeRepository extends JpaRepository<TaskChange, Long> {
+
+    // The newest entry of each task changed after :since, in log order; older entries of the same task are skipped.
+    // Served by idx_task_changes_user_seq and idx_task_changes_task_seq.
+    @Query("SELECT c FROM TaskChange c WHERE c.userId = :userId AND c.seq > :since " +
+           "AND NOT EXISTS (SELECT 1 FROM TaskChange n WHERE n.taskId = c.taskId AND n.seq > c.seq) " +
+           "ORDER BY c.seq")
+    List<TaskChange> findLatestByUserIdSince(Long userId, long since, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(c.seq), 0) FROM TaskChange c WHERE c.changedAt <= :settledBefore")
+    long findSettledHead(LocalDateTime settledBefore);
+
+    // Removing an entry that a newer one for the same task supersedes never changes what a client is sent.
+    @Modifying
+    @Query("DELETE FROM TaskChange c WHERE c.changedAt < :before " +
+           "AND EXISTS (SELECT 1 FROM TaskChange n WHERE n.taskId = c.taskId AND n.seq > c.seq)")
+    int deleteSuperseded(LocalDateTime before);
+
+    @Query("SELECT COALESCE(MAX(c.seq), 0) FROM TaskChange c WHERE c.changeType = :deleted AND c.changedAt < :before")
+    long findLastTombstoneBefore(TaskChangedEvent.ChangeType deleted, LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM TaskChange c WHERE c.changeType = :deleted AND c.seq <= :seq")
+    int deleteTombstonesUpTo(TaskChangedEvent.ChangeType deleted, long seq);
+
+    @Query(value = "SELECT seq FROM task_changes_horizon WHERE id = 1", nativeQuery = true)
+    long findHorizon();
+
+    // Names its table, so Hibernate does not empty the second-level cache for it.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_changes_horizon"))
+    @Query(value = "UPDATE task_changes_horizon SET seq = GREATEST(seq, :seq) WHERE id = 1", nativeQuery = true)
+    void raiseHorizon(long seq);
+}
@@ -1,13 +1,24 @@
 package com.example.taskmanager.repository;
 
+import com.example.taskmanager.cache.EntityCacheRegions;
+import com.example.taskmanager.dto.TaskDto;
 import com.example.taskmanager.model.Task;
 import com.example.taskmanager.model.TaskStatus;
 import com.example.taskmanager.model.User;
+import com.example.taskmanager.repository.projection.BucketCount;
+import com.example.taskmanager.repository.projection.TaskTitleView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
@@ -15,17 +26,81 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByUser(User user);
     
     List<Task> findByUserOrderByCreatedAtDesc(User user);
+
+    // Read path for the API: rows are built straight into TaskDto by the query, so no entity is
+    // hydrated, nothing enters the persistence context and there is nothing to dirty-check on flush.
+    String TASK_DTO = "SELECT new com.example.taskmanager.dto.TaskDto(t.id, t.title, t.description, t.status, t.user.id, t.createdAt) FROM Task t ";
+
+    // Keyset pagination over (created_at DESC, id DESC), served by idx_tasks_user_created_id / idx_tasks_created_id.
+    // The Pageable only carries the page size; the offset is always 0.
+
+    @Query(TASK_DTO + "WHERE t.user.id = :userId ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskDto> findDtoPageByUserId(Long userId, Pageable pageable);
+
+    @Query(TASK_DTO + "WHERE t.user.id = :userId " +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskDto> findDtoPageByUserIdAfter(Long userId, LocalDateTime createdAt, Long id, Pageable pageable);
+
+    @Query(TASK_DTO + "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskDto> findDtoPage(Pageable pageable);
+
+    @Query(TASK_DTO + "WHERE t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskDto> findDtoPageAfter(LocalDateTime createdAt, Long id, Pageable pageable);
+
+    @Query(TASK_DTO + "WHERE t.user.id = :userId ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskDto> findDtosByUserId(Long userId);
+
+    @Query(TASK_DTO + "WHERE t.user.id = :userId AND t.status = :status ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskDto> findDtosByUserIdAndStatus(Long userId, TaskStatus status);
+
+    @Query(TASK_DTO + "WHERE t.id IN :ids")
+    List<TaskDto> findDtosByIdIn(Collection<Long> ids);
     
     List<Task> findByStatus(TaskStatus status);
     
     List<Task> findByUserAndStatus(User user, TaskStatus status);
     
-    @Query("SELECT t FROM Task t WHERE t.user = :user AND t.title LIKE %:title%")
-    List<Task> findByUserAndTitleContaining(User user, String title);
+    // Fallback for title search while the in-memory index is unavailable; case-insensitive like the index.
+    @Query(TASK_DTO + "WHERE t.user.id = :userId AND LOWER(t.title) LIKE LOWER(CONCAT('%', :title, '%')) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskDto> findDtosByUserIdAndTitleContaining(Long userId, String title, Pageable pageable);
+    
+    // Used to build the title search index at startup; must be consumed inside a transaction.
+    @Query("SELECT t.id AS id, t.user.id AS userId, t.title AS title, t.createdAt AS createdAt FROM Task t")
+    Stream<TaskTitleView> streamTitles();
+    
+    // Used to reload one user's part of the title search index after a change on another instance.
+    @Query("SELECT t.id AS id, t.user.id AS userId, t.title AS title, t.createdAt AS createdAt FROM Task t WHERE t.user.id = :userId")
+    List<TaskTitleView> findTitlesByUserId(Long userId);
     
+    // Forward-only cursor for the admin export. The fetch size makes the driver pull rows in chunks
+    // instead of buffering the whole result set (PostgreSQL only honours it inside a transaction).
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(TASK_DTO + "ORDER BY t.id")
+    Stream<TaskDto> streamAllForExport();
+    
+    // Counts are kept in the query cache until the next write to the tasks table, here or on another instance.
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EntityCacheRegions.COUNTS)
+    })
     @Query("SELECT COUNT(t) FROM Task t WHERE t.user = :user AND t.status = :status")
     long countByUserAndStatus(User user, TaskStatus status);
     
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EntityCacheRegions.COUNTS)
+    })
     @Query("SELECT COUNT(t) FROM Task t WHERE t.status = :status")
     long countByStatus(TaskStatus status);
+
+    // Task counts per status and user counts per role in one round trip, for the admin statistics.
+    @Query(value = "SELECT 'TASK' AS kind, status AS bucket, COUNT(*) AS total FROM tasks GROUP BY status " +
+                   "UNION ALL " +
+                   "SELECT 'USER' AS kind, role AS bucket, COUNT(*) AS total FROM users GROUP BY role",
+           nativeQuery = true)
+    List<BucketCount> countTasksByStatusAndUsersByRole();
 }
\ No newline at end of file
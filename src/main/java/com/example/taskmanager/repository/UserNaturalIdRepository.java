@@ -0,0 +1,13 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.model.User;
+
+import java.util.Optional;
+
+/**
+ * Lookup of users by their natural id, the username, implemented by {@link UserNaturalIdRepositoryImpl}.
+ */
+public interface UserNaturalIdRepository {
+
+    Optional<User> findByUsername(String username);
+}
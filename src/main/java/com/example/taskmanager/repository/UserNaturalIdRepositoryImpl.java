@@ -0,0 +1,27 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+/**
+ * Resolves the username through the natural-id cache and then loads the user through the entity cache, so a
+ * cached user costs no query at all; a derived query would go to the database every time.
+ */
+public class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                // Usernames never change, so pending changes in the session need not be checked first.
+                .setSynchronizationEnabled(false)
+                .loadOptional(username);
+    }
+}
@@ -1,18 +1,23 @@
 package com.example.taskmanager.repository;
 
+import com.example.taskmanager.cache.EntityCacheRegions;
 import com.example.taskmanager.model.Role;
 import com.example.taskmanager.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
     
-    Optional<User> findByUsername(String username);
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(String username);
     
     Optional<User> findByEmail(String email);
     
@@ -25,6 +30,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.enabled = true")
     List<User> findAllActiveUsers();
     
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EntityCacheRegions.COUNTS)
+    })
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role")
     long countByRole(Role role);
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.model.TaskStatus;
+import com.example.taskmanager.model.UserTaskCounter;
+import com.example.taskmanager.model.UserTaskCounterId;
+import com.example.taskmanager.repository.projection.StatusCount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserTaskCounterRepository extends JpaRepository<UserTaskCounter, UserTaskCounterId> {
+
+    // Counters are only ever changed by bulk statements, so they are read as projections rather than
+    // as managed entities that could hold stale values within the same transaction.
+    @Query("SELECT c.id.status AS status, c.taskCount AS taskCount FROM UserTaskCounter c WHERE c.id.userId = :userId")
+    List<StatusCount> findCountsByUserId(Long userId);
+
+    // Atomic in-place increment; returns 0 if the user has no counter row for this status yet.
+    @Modifying
+    @Query("UPDATE UserTaskCounter c SET c.taskCount = c.taskCount + :delta " +
+           "WHERE c.id.userId = :userId AND c.id.status = :status")
+    int adjust(Long userId, TaskStatus status, long delta);
+
+    @Modifying
+    @Query("DELETE FROM UserTaskCounter c WHERE c.id.userId = :userId")
+    int deleteByUserId(Long userId);
+
+    // Recreates the counter for one status from the tasks table, for one user or for all users.
+    // Callers delete the previous rows first. Native statements name the table they write, or Hibernate
+    // would empty every second-level cache region to be safe. The declared spaces also decide what Hibernate
+    // flushes beforehand, and tasks is left out so that a recount does not evict the task region: callers
+    // flush pending task changes themselves.
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_task_counters"))
+    @Query(value = "INSERT INTO user_task_counters (user_id, status, task_count) " +
+                   "SELECT u.id, :status, (SELECT COUNT(*) FROM tasks t WHERE t.user_id = u.id AND t.status = :status) " +
+                   "FROM users u WHERE u.id = :userId",
+           nativeQuery = true)
+    int recountForUser(Long userId, String status);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_task_counters"))
+    @Query(value = "INSERT INTO user_task_counters (user_id, status, task_count) " +
+                   "SELECT u.id, :status, (SELECT COUNT(*) FROM tasks t WHERE t.user_id = u.id AND t.status = :status) " +
+                   "FROM users u",
+           nativeQuery = true)
+    int recountForAllUsers(String status);
+}
@@ -0,0 +1,10 @@
+package com.example.taskmanager.repository.projection;
+
+/**
+ * One row of a grouped COUNT query: how many rows of {@code kind} fall into {@code bucket}.
+ */
+public interface BucketCount {
+    String getKind();
+    String getBucket();
+    long getTotal();
+}
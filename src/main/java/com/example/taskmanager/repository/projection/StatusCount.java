@@ -0,0 +1,11 @@
+package com.example.taskmanager.repository.projection;
+
+import com.example.taskmanager.model.TaskStatus;
+
+/**
+ * A task count for one status, read as a scalar projection so no entity is put into the persistence context.
+ */
+public interface StatusCount {
+    TaskStatus getStatus();
+    long getTaskCount();
+}
@@ -0,0 +1,13 @@
+package com.example.taskmanager.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * The task columns the in-memory title index is built from.
+ */
+public interface TaskTitleView {
+    Long getId();
+    Long getUserId();
+    String getTitle();
+    LocalDateTime getCreatedAt();
+}
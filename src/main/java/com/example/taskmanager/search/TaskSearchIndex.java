@@ -0,0 +1,372 @@
+package com.example.taskmanager.search;
+
+import com.example.taskmanager.cache.CacheInvalidationBus;
+import com.example.taskmanager.config.AppProperties;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.projection.TaskTitleView;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index of task titles, partitioned by owner.
+ * <p>
+ * A query is answered by intersecting the posting lists of its trigrams, so only tasks that can possibly
+ * match are looked at, and only those of the requesting user. Candidates are then confirmed with a
+ * case-insensitive substring check, which keeps the results identical to a {@code LIKE %query%} scan.
+ * The index is built at startup and kept current from {@link TaskChangedEvent}s after each commit.
+ * Changes committed on other instances arrive through the {@link CacheInvalidationBus} as the owner's ID;
+ * that user's titles are then reloaded from the primary on a background thread, so the bus is not held up
+ * by queries. If the bus reports lost messages, the whole index is rebuilt the same way.
+ */
+@Component
+public class TaskSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    public static final String NAME = "taskSearch";
+
+    static final int GRAM_LENGTH = 3;
+
+    private final TaskRepository taskRepository;
+    private final AppProperties appProperties;
+    private final CacheInvalidationBus invalidationBus;
+    // Read-write, so that reloads read the primary: a peer's change may not have reached the replica yet.
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService reloads = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("task-search-reload-"));
+    // Users with a reload queued but not started; further changes of theirs need no reload of their own.
+    private final Set<Long> queuedReloads = ConcurrentHashMap.newKeySet();
+
+    private final Object lifecycleLock = new Object();
+    private volatile Map<Long, UserIndex> indexes = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    // Changes committed while a rebuild is reading the tasks table; replayed onto the new index. Guarded by lifecycleLock.
+    private List<TaskChangedEvent> changesDuringRebuild;
+    // Users changed on a peer while a rebuild is reading; reloaded once the new index is in place. Guarded by lifecycleLock.
+    private Set<Long> peerChangesDuringRebuild;
+    // The user being reloaded and the local changes of theirs committed meanwhile. Guarded by lifecycleLock.
+    private Long reloadingUser;
+    private List<TaskChangedEvent> changesDuringReload;
+
+    public TaskSearchIndex(TaskRepository taskRepository, AppProperties appProperties,
+                           CacheInvalidationBus invalidationBus, TransactionTemplate transactionTemplate) {
+        this.taskRepository = taskRepository;
+        this.appProperties = appProperties;
+        this.invalidationBus = invalidationBus;
+        this.transactionTemplate = transactionTemplate;
+        invalidationBus.register(NAME, this::applyPeerChange);
+    }
+
+    @PreDestroy
+    public void stopReloads() throws InterruptedException {
+        reloads.shutdown();
+        if (!reloads.awaitTermination(5, TimeUnit.SECONDS)) {
+            reloads.shutdownNow();
+        }
+    }
+
+    /**
+     * @return {@code true} once the index has been built and can answer queries.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Finds the user's tasks whose title contains the query, ignoring case.
+     * @param userId The ID of the task owner.
+     * @param query The text to look for.
+     * @param limit The maximum number of results.
+     * @return Matching task IDs, best match first, or empty if the index is not ready and the caller must fall back.
+     */
+    public Optional<List<Long>> search(Long userId, String query, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        String normalized = normalize(query);
+        UserIndex index = indexes.get(userId);
+        if (normalized.isEmpty() || index == null) {
+            return Optional.of(List.of());
+        }
+        return Optional.of(index.search(normalized, limit));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        Map<Long, UserIndex> target;
+        synchronized (lifecycleLock) {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+            if (event.userId().equals(reloadingUser)) {
+                changesDuringReload.add(event);
+            }
+            target = indexes;
+        }
+        apply(target, event);
+        invalidationBus.evictCommitted(NAME, event.userId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!appProperties.getSearch().isIndexEnabled()) {
+            logger.info("Task title index is disabled, searches will query the database");
+            return;
+        }
+        build();
+    }
+
+    private void build() {
+        synchronized (lifecycleLock) {
+            changesDuringRebuild = new ArrayList<>();
+            peerChangesDuringRebuild = new HashSet<>();
+        }
+        long started = System.nanoTime();
+        Map<Long, UserIndex> fresh = new ConcurrentHashMap<>();
+        long count = 0;
+        try (Stream<TaskTitleView> rows = taskRepository.streamTitles()) {
+            for (Iterator<TaskTitleView> it = rows.iterator(); it.hasNext(); count++) {
+                TaskTitleView row = it.next();
+                fresh.computeIfAbsent(row.getUserId(), id -> new UserIndex())
+                        .put(Document.of(row.getId(), row.getTitle(), row.getCreatedAt()));
+            }
+        } catch (RuntimeException e) {
+            synchronized (lifecycleLock) {
+                changesDuringRebuild = null;
+                peerChangesDuringRebuild = null;
+            }
+            throw e;
+        }
+        Set<Long> peerChanges;
+        synchronized (lifecycleLock) {
+            changesDuringRebuild.forEach(event -> apply(fresh, event));
+            changesDuringRebuild = null;
+            peerChanges = peerChangesDuringRebuild;
+            peerChangesDuringRebuild = null;
+            indexes = fresh;
+            ready = true;
+        }
+        logger.info("Task title index built: {} tasks of {} users in {} ms",
+                count, fresh.size(), (System.nanoTime() - started) / 1_000_000);
+        // The rebuild may have read these users before their change.
+        peerChanges.forEach(this::queueReload);
+    }
+
+    private void applyPeerChange(String userId) {
+        if (!appProperties.getSearch().isIndexEnabled()) {
+            return;
+        }
+        if (userId == null) {
+            reloads.execute(this::rebuildAfterLostChanges);
+            return;
+        }
+        try {
+            queueReload(Long.valueOf(userId));
+        } catch (NumberFormatException e) {
+            logger.warn("Unreadable task search index change '{}', rebuilding the index", userId);
+            reloads.execute(this::rebuildAfterLostChanges);
+        }
+    }
+
+    private void queueReload(Long userId) {
+        if (queuedReloads.add(userId)) {
+            reloads.execute(() -> {
+                queuedReloads.remove(userId);
+                reload(userId);
+            });
+        }
+    }
+
+    private void rebuildAfterLostChanges() {
+        synchronized (lifecycleLock) {
+            // Not built yet: the startup build reads the current rows itself.
+            if (!ready) {
+                return;
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> build());
+        } catch (RuntimeException e) {
+            logger.warn("Rebuilding the task title index failed, keeping the current one", e);
+        }
+    }
+
+    private void reload(Long userId) {
+        List<TaskChangedEvent> changes = new ArrayList<>();
+        synchronized (lifecycleLock) {
+            if (changesDuringRebuild != null) {
+                peerChangesDuringRebuild.add(userId);
+                return;
+            }
+            if (!ready) {
+                return;
+            }
+            reloadingUser = userId;
+            changesDuringReload = changes;
+        }
+        Map<Long, UserIndex> fresh = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> taskRepository.findTitlesByUserId(userId)
+                    .forEach(row -> fresh.computeIfAbsent(userId, id -> new UserIndex())
+                            .put(Document.of(row.getId(), row.getTitle(), row.getCreatedAt()))));
+        } catch (RuntimeException e) {
+            logger.warn("Reloading the task titles of user {} failed, keeping the current ones", userId, e);
+            synchronized (lifecycleLock) {
+                reloadingUser = null;
+                changesDuringReload = null;
+            }
+            return;
+        }
+        synchronized (lifecycleLock) {
+            changes.forEach(event -> apply(fresh, event));
+            reloadingUser = null;
+            changesDuringReload = null;
+            UserIndex index = fresh.get(userId);
+            if (index == null) {
+                indexes.remove(userId);
+            } else {
+                indexes.put(userId, index);
+            }
+        }
+    }
+
+    private static void apply(Map<Long, UserIndex> target, TaskChangedEvent event) {
+        if (event.type() == TaskChangedEvent.ChangeType.DELETED) {
+            UserIndex index = target.get(event.userId());
+            if (index != null) {
+                index.remove(event.taskId());
+            }
+            return;
+        }
+        target.computeIfAbsent(event.userId(), id -> new UserIndex())
+                .put(Document.of(event.taskId(), event.title(), event.createdAt()));
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> grams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private record Document(Long id, String text, LocalDateTime createdAt, String[] grams) {
+        static Document of(Long id, String title, LocalDateTime createdAt) {
+            String text = normalize(title);
+            return new Document(id, text, createdAt, grams(text).toArray(String[]::new));
+        }
+    }
+
+    private record Match(Document document, int rank) {
+        // Lower rank first, then newest first, matching the ordering of the task lists.
+        static final Comparator<Match> BEST_FIRST = Comparator.comparingInt(Match::rank)
+                .thenComparing(m -> m.document().createdAt(), Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(m -> m.document().id(), Comparator.reverseOrder());
+    }
+
+    /**
+     * The inverted index of one user's tasks. All access is synchronized on the instance;
+     * users never contend with each other.
+     */
+    private static final class UserIndex {
+        private final Map<Long, Document> documents = new HashMap<>();
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+
+        synchronized void put(Document document) {
+            remove(document.id());
+            documents.put(document.id(), document);
+            for (String gram : document.grams()) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(document.id());
+            }
+        }
+
+        synchronized void remove(Long id) {
+            Document previous = documents.remove(id);
+            if (previous == null) {
+                return;
+            }
+            for (String gram : previous.grams()) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+
+        synchronized List<Long> search(String query, int limit) {
+            List<Match> matches = new ArrayList<>();
+            for (Long id : candidates(query)) {
+                Document document = documents.get(id);
+                int rank = rank(document.text(), query);
+                if (rank >= 0) {
+                    matches.add(new Match(document, rank));
+                }
+            }
+            matches.sort(Match.BEST_FIRST);
+            return matches.stream().limit(limit).map(match -> match.document().id()).toList();
+        }
+
+        private Collection<Long> candidates(String query) {
+            if (query.length() < GRAM_LENGTH) {
+                // Too short to have a trigram; a user's own title set is small enough to check directly.
+                return documents.keySet();
+            }
+            List<Set<Long>> lists = new ArrayList<>();
+            for (String gram : grams(query)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) {
+                    return List.of();
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+            Set<Long> result = new HashSet<>(lists.get(0));
+            for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+                result.retainAll(lists.get(i));
+            }
+            return result;
+        }
+
+        // 0 = exact title, 1 = title prefix, 2 = start of a word, 3 = anywhere, -1 = no match.
+        private static int rank(String text, String query) {
+            int position = text.indexOf(query);
+            if (position < 0) {
+                return -1;
+            }
+            if (position == 0) {
+                return text.length() == query.length() ? 0 : 1;
+            }
+            do {
+                if (!Character.isLetterOrDigit(text.charAt(position - 1))) {
+                    return 2;
+                }
+                position = text.indexOf(query, position + 1);
+            } while (position > 0);
+            return 3;
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package com.example.taskmanager.security;
 
 import com.example.taskmanager.service.IUserService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -16,9 +22,12 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Component
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
@@ -27,6 +36,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final IUserService userService;
     
+    private final TokenRevocationRegistry tokenRevocations;
+    
+    private final MeterRegistry meterRegistry;
+    
+    // Build the Authentication from token claims instead of loading the user on every request.
+    @Value("${jwt.claims-only:false}")
+    private boolean claimsOnly;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
@@ -34,28 +51,56 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String authorizationHeader = request.getHeader("Authorization");
         
         String username = null;
-        String jwt = null;
+        Claims claims = null;
         
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+            String jwt = authorizationHeader.substring(7);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "valid";
             try {
-                username = jwtUtil.extractUsername(jwt);
+                // Verified once here; everything below reads these claims.
+                claims = jwtUtil.verify(jwt);
+                username = claims.getSubject();
             } catch (Exception e) {
+                outcome = "invalid";
                 logger.error("JWT token extraction error: {}", e.getMessage());
+            } finally {
+                sample.stop(Timer.builder("jwt.verification")
+                        .description("JWT signature and claims verification, including verified-token cache hits")
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
             }
         }
         
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userService.loadUserByUsername(username);
+            Optional<JwtPrincipal> principal = claimsOnly ? jwtUtil.toPrincipal(claims) : Optional.empty();
             
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+            if (principal.isPresent()) {
+                // Everything needed is in the verified claims; only the in-memory revocation set is consulted.
+                JwtPrincipal jwtPrincipal = principal.get();
+                if (tokenRevocations.isRevoked(jwtPrincipal.userId(), jwtPrincipal.tokenVersion())) {
+                    logger.debug("Rejected revoked token for user: {}", username);
+                } else {
+                    authenticate(request, jwtPrincipal, List.of(new SimpleGrantedAuthority(jwtPrincipal.role())));
+                }
+            } else {
+                UserDetails userDetails = userService.loadUserByUsername(username);
+                
+                if (jwtUtil.isValidFor(claims, userDetails)) {
+                    authenticate(request, userDetails, userDetails.getAuthorities());
+                }
             }
         }
         
         filterChain.doFilter(request, response);
     }
+    
+    private void authenticate(HttpServletRequest request, Object principal,
+                              Collection<? extends GrantedAuthority> authorities) {
+        UsernamePasswordAuthenticationToken authToken =
+            new UsernamePasswordAuthenticationToken(principal, null, authorities);
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
\ No newline at end of file
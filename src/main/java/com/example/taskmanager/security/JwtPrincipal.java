@@ -0,0 +1,15 @@
+package com.example.taskmanager.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal built from verified token claims alone, used when {@code jwt.claims-only} is enabled.
+ * {@link #getName()} returns the username, so {@code Authentication.getName()} behaves as with a loaded user.
+ */
+public record JwtPrincipal(Long userId, String username, String role, long tokenVersion) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.taskmanager.security;
 
+import com.example.taskmanager.model.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,60 +12,94 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Optional;
 
+/**
+ * Issues and verifies JWTs. Callers verify a token once with {@link #verify(String)} and read everything
+ * they need from the returned claims; verified tokens are remembered in {@link VerifiedTokenCache}.
+ */
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
     
+    private static final String ROLE_CLAIM = "role";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String TOKEN_VERSION_CLAIM = "ver";
+    
+    private final VerifiedTokenCache verifiedTokens;
+    
     @Value("${jwt.secret}")
     private String secret;
     
     @Value("${jwt.expiration}")
     private Long expiration;
     
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    // Both are immutable and thread-safe, so they are built once instead of per token.
+    private SecretKey signingKey;
+    
+    private JwtParser parser;
+    
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
     }
     
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    /**
+     * Checks the signature and expiry of a token and returns its claims.
+     * @throws JwtException If the token is malformed, tampered with or expired.
+     */
+    public Claims verify(String token) {
+        return verifiedTokens.get(token, this::parseClaims);
     }
     
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public String extractUsername(String token) {
+        return verify(token).getSubject();
     }
     
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public Date extractExpiration(String token) {
+        return verify(token).getExpiration();
     }
     
-    private Claims extractAllClaims(String token) {
+    private Claims parseClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return parser.parseSignedClaims(token).getPayload();
         } catch (JwtException e) {
             logger.error("JWT parsing error: {}", e.getMessage());
             throw e;
         }
     }
     
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static boolean isExpired(Claims claims) {
+        return claims.getExpiration() != null && claims.getExpiration().before(new Date());
     }
     
-    public String generateToken(UserDetails userDetails) {
+    public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("role", userDetails.getAuthorities().iterator().next().getAuthority());
-        return createToken(claims, userDetails.getUsername());
+        claims.put(ROLE_CLAIM, user.getAuthorities().iterator().next().getAuthority());
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(TOKEN_VERSION_CLAIM, user.getTokenVersion());
+        return createToken(claims, user.getUsername());
+    }
+    
+    /**
+     * Builds a principal from verified claims, without looking the user up.
+     * @return The principal, or empty if the token predates the user ID and version claims.
+     */
+    public Optional<JwtPrincipal> toPrincipal(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        Number tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Number.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (userId == null || tokenVersion == null || role == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new JwtPrincipal(userId.longValue(), claims.getSubject(), role, tokenVersion.longValue()));
     }
     
     private String createToken(Map<String, Object> claims, String subject) {
@@ -71,14 +108,20 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
     
+    /**
+     * @return {@code true} if verified claims belong to the given user and have not expired since verification.
+     */
+    public boolean isValidFor(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isExpired(claims);
+    }
+    
     public Boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+            return isValidFor(verify(token), userDetails);
         } catch (JwtException e) {
             logger.error("JWT validation error: {}", e.getMessage());
             return false;
@@ -87,11 +130,10 @@ public class JwtUtil {
     
     public Boolean isTokenValid(String token) {
         try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
+            return !isExpired(verify(token));
         } catch (JwtException e) {
             logger.error("JWT validation error: {}", e.getMessage());
             return false;
         }
     }
-}
\ No newline at end of file
+}
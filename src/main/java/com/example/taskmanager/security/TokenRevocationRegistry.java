@@ -0,0 +1,131 @@
+package com.example.taskmanager.security;
+
+import com.example.taskmanager.cache.CacheInvalidationBus;
+import com.example.taskmanager.model.TokenRevocation;
+import com.example.taskmanager.repository.TokenRevocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Users whose older tokens must be refused, checked on every claims-only request without a query.
+ * <p>
+ * An entry holds the lowest token version still accepted and lives only as long as a token can,
+ * so the set stays as small as the number of users changed within one token lifetime. A revocation
+ * takes effect here once the transaction that raised the user's token version commits, so a rollback
+ * cannot leave the user's new tokens refused. It is stored in {@code token_revocations} and sent to the
+ * other instances through the {@link CacheInvalidationBus}; the set is also reloaded at startup and every
+ * {@code jwt.revocation-refresh-ms}, which catches up on anything the bus lost.
+ */
+@Component
+public class TokenRevocationRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+
+    public static final String NAME = "tokenRevocations";
+
+    // Bus key: <userId>:<minTokenVersion>:<expiresAt>
+    private static final String KEY_SEPARATOR = ":";
+
+    private record Revocation(long minTokenVersion, LocalDateTime expiresAt) {
+    }
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final CacheInvalidationBus invalidationBus;
+
+    @Value("${jwt.expiration}")
+    private Long expiration;
+
+    // Entries only ever become stricter or expire, so changes are merged in place rather than swapped.
+    private final Map<Long, Revocation> revocations = new ConcurrentHashMap<>();
+
+    public TokenRevocationRegistry(TokenRevocationRepository tokenRevocationRepository,
+                                   CacheInvalidationBus invalidationBus) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.invalidationBus = invalidationBus;
+        invalidationBus.register(NAME, this::applyPeerRevocation);
+    }
+
+    public boolean isRevoked(Long userId, long tokenVersion) {
+        Revocation revocation = revocations.get(userId);
+        return revocation != null && tokenVersion < revocation.minTokenVersion();
+    }
+
+    /**
+     * Refuses the user's tokens issued below the given version.
+     */
+    @Transactional
+    public void revokeBelow(Long userId, long minTokenVersion) {
+        Revocation revocation = new Revocation(minTokenVersion, LocalDateTime.now().plus(Duration.ofMillis(expiration)));
+        tokenRevocationRepository.save(new TokenRevocation(userId, minTokenVersion, revocation.expiresAt()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(userId, revocation);
+                }
+            });
+        } else {
+            apply(userId, revocation);
+        }
+        // Sent after commit as well.
+        invalidationBus.evict(NAME, userId + KEY_SEPARATOR + minTokenVersion + KEY_SEPARATOR + revocation.expiresAt());
+    }
+
+    /**
+     * Refuses every token issued to the user so far, e.g. because the user was deleted.
+     */
+    @Transactional
+    public void revokeAll(Long userId) {
+        revokeBelow(userId, Long.MAX_VALUE);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.revocation-refresh-ms:30000}", initialDelayString = "${jwt.revocation-refresh-ms:30000}")
+    @Transactional
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        tokenRevocationRepository.deleteExpired(now);
+        revocations.values().removeIf(revocation -> !revocation.expiresAt().isAfter(now));
+        load();
+    }
+
+    private void load() {
+        for (TokenRevocation row : tokenRevocationRepository.findAll()) {
+            apply(row.getUserId(), new Revocation(row.getMinTokenVersion(), row.getExpiresAt()));
+        }
+    }
+
+    private void applyPeerRevocation(String key) {
+        if (key != null) {
+            String[] parts = key.split(KEY_SEPARATOR, 3);
+            try {
+                apply(Long.valueOf(parts[0]), new Revocation(Long.parseLong(parts[1]), LocalDateTime.parse(parts[2])));
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Unreadable token revocation '{}', reloading all: {}", key, e.getMessage());
+            }
+        }
+        // Revocations were lost on the way; the rows of the committed ones are in the database.
+        load();
+    }
+
+    private void apply(Long userId, Revocation revocation) {
+        revocations.merge(userId, revocation, TokenRevocationRegistry::stricter);
+    }
+
+    private static Revocation stricter(Revocation a, Revocation b) {
+        return a.minTokenVersion() >= b.minTokenVersion() ? a : b;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.StatisticsDto;
+
+/**
+ * Interface defining the contract for the system statistics service.
+ */
+public interface IStatisticsService {
+
+    /**
+     * Returns user counts by role and task counts by status.
+     * The figures are computed by the database in a single grouped query, so the cost
+     * does not depend on how many tasks are loaded into memory.
+     * @return The current system statistics.
+     */
+    StatisticsDto getStatistics();
+}
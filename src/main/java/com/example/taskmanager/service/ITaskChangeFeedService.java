@@ -0,0 +1,24 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.TaskChangeFeed;
+
+/**
+ * Interface defining the contract for incremental task sync from the change log.
+ */
+public interface ITaskChangeFeedService {
+
+    /**
+     * Returns what changed in the user's tasks after the given log position, compacted to the latest
+     * state of each task.
+     * @param username The username of the user.
+     * @param since The {@code next} value of the previous call, or 0 for everything still in the log.
+     * @param limit The requested maximum number of tasks in the page, may be null.
+     * @return The page of changes and the position to continue from.
+     */
+    TaskChangeFeed getChanges(String username, long since, Integer limit);
+
+    /**
+     * Drops superseded log entries and expired tombstones.
+     */
+    void compact();
+}
@@ -0,0 +1,60 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.model.TaskStatus;
+
+import java.util.Map;
+
+/**
+ * Interface defining the contract for the per-user task status counters.
+ * All mutating methods join the caller's transaction, so counters commit or roll back together with the task change.
+ */
+public interface ITaskCounterService {
+
+    /**
+     * Returns the number of tasks the user has in every status.
+     * @param userId The ID of the user.
+     * @return A map containing an entry for every {@link TaskStatus}.
+     */
+    Map<TaskStatus, Long> getCounts(Long userId);
+
+    /**
+     * Returns the number of tasks the user has in one status.
+     * @param userId The ID of the user.
+     * @param status The status for counting.
+     * @return The number of tasks.
+     */
+    long getCount(Long userId, TaskStatus status);
+
+    /**
+     * Creates zeroed counters for a newly registered user.
+     * @param userId The ID of the user.
+     */
+    void initialize(Long userId);
+
+    /**
+     * Adds {@code delta} to the user's counter for the given status.
+     * @param userId The ID of the task owner.
+     * @param status The status whose counter changes.
+     * @param delta The (possibly negative) change.
+     */
+    void adjust(Long userId, TaskStatus status, long delta);
+
+    /**
+     * Moves one task of the user from one status counter to another.
+     * @param userId The ID of the task owner.
+     * @param from The previous status.
+     * @param to The new status.
+     */
+    void move(Long userId, TaskStatus from, TaskStatus to);
+
+    /**
+     * Recomputes the user's counters from the tasks table.
+     * @param userId The ID of the user.
+     */
+    void rebuild(Long userId);
+
+    /**
+     * Recomputes the counters of every user from the tasks table.
+     */
+    void rebuildAll();
+}
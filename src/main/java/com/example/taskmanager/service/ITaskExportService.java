@@ -0,0 +1,20 @@
+package com.example.taskmanager.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Interface defining the contract for bulk export of tasks.
+ */
+public interface ITaskExportService {
+
+    /**
+     * Writes every task as newline-delimited JSON, one {@link com.example.taskmanager.dto.TaskDto} per line, ordered by ID.
+     * Rows are read through a database cursor and written as they arrive, so memory use does not grow with the table.
+     * The stream is flushed but not closed.
+     * @param out The stream to write to.
+     * @return The number of exported tasks.
+     * @throws IOException If writing to the stream fails.
+     */
+    long exportTasks(OutputStream out) throws IOException;
+}
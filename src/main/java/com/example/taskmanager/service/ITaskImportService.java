@@ -0,0 +1,25 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.TaskImportReport;
+import com.example.taskmanager.importer.ImportFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Interface defining the contract for bulk task imports.
+ */
+public interface ITaskImportService {
+
+    /**
+     * Imports tasks on behalf of their owners, named by username in each record.
+     * Records are validated with the {@link com.example.taskmanager.dto.TaskCreateDto} rules; invalid
+     * records are reported and skipped. Valid records are committed in chunks while the rest of the
+     * stream is still being parsed, so a failure part-way leaves earlier chunks in place.
+     * @param in The import stream.
+     * @param format The format of the stream.
+     * @return How many records were read and imported, with the errors of the rejected ones.
+     * @throws IOException If reading the stream fails.
+     */
+    TaskImportReport importTasks(InputStream in, ImportFormat format) throws IOException;
+}
@@ -1,11 +1,15 @@
 package com.example.taskmanager.service;
 
+import com.example.taskmanager.dto.CursorPage;
+import com.example.taskmanager.dto.TaskBatchUpdateDto;
 import com.example.taskmanager.dto.TaskCreateDto;
+import com.example.taskmanager.dto.TaskDto;
 import com.example.taskmanager.dto.TaskUpdateDto;
 import com.example.taskmanager.model.Task;
 import com.example.taskmanager.model.TaskStatus;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -37,6 +41,34 @@ public interface ITaskService {
      */
     void deleteTask(Long taskId, String username);
 
+    /**
+     * Creates several tasks for the specified user in one transaction, using batched inserts.
+     * @param taskDtos DTOs with data for creating the tasks.
+     * @param username The username of the owner.
+     * @return The saved tasks, in request order.
+     */
+    List<Task> createTasks(List<TaskCreateDto> taskDtos, String username);
+
+    /**
+     * Updates several tasks in one transaction, using batched updates. Either all tasks are updated or none.
+     * @param taskDtos DTOs with the task IDs and new data.
+     * @param username The username of the user performing the operation.
+     * @return The updated tasks, in request order.
+     * @throws com.example.taskmanager.exception.TaskNotFoundException if any task does not exist.
+     * @throws com.example.taskmanager.exception.UnauthorizedAccessException if the user cannot access any of the tasks.
+     */
+    List<Task> updateTasks(List<TaskBatchUpdateDto> taskDtos, String username);
+
+    /**
+     * Deletes several tasks in one transaction with a single statement. Either all tasks are deleted or none.
+     * @param taskIds The IDs of the tasks to delete.
+     * @param username The username of the user performing the operation.
+     * @return The number of deleted tasks.
+     * @throws com.example.taskmanager.exception.TaskNotFoundException if any task does not exist.
+     * @throws com.example.taskmanager.exception.UnauthorizedAccessException if the user cannot access any of the tasks.
+     */
+    int deleteTasks(List<Long> taskIds, String username);
+
     /**
      * Finds a task by its ID.
      * @param taskId The unique identifier of the task.
@@ -52,12 +84,33 @@ public interface ITaskService {
      */
     List<Task> findUserTasks(String username);
 
+    /**
+     * Returns one page of the user's tasks, newest first, using keyset pagination.
+     * Rows are projected straight into DTOs; no entities are loaded.
+     * @param username The username.
+     * @param cursor The {@code next} cursor of the previous page, or {@code null} for the first page.
+     * @param limit The maximum number of tasks in the page.
+     * @return The page of tasks and the cursor of the following page.
+     * @throws com.example.taskmanager.exception.InvalidCursorException if the cursor is malformed.
+     */
+    CursorPage<TaskDto> findUserTasksPage(String username, String cursor, int limit);
+
     /**
      * Returns a list of absolutely all tasks in the system (for an administrator).
      * @return A list of all tasks.
      */
     List<Task> findAllTasks();
 
+    /**
+     * Returns one page of all tasks in the system, newest first, using keyset pagination.
+     * Rows are projected straight into DTOs; no entities are loaded.
+     * @param cursor The {@code next} cursor of the previous page, or {@code null} for the first page.
+     * @param limit The maximum number of tasks in the page.
+     * @return The page of tasks and the cursor of the following page.
+     * @throws com.example.taskmanager.exception.InvalidCursorException if the cursor is malformed.
+     */
+    CursorPage<TaskDto> findAllTasksPage(String cursor, int limit);
+
     /**
      * Finds tasks by a specific status.
      * @param status The status to search for.
@@ -66,20 +119,22 @@ public interface ITaskService {
     List<Task> findTasksByStatus(TaskStatus status);
 
     /**
-     * Finds tasks of a specified user with a specific status.
+     * Finds tasks of a specified user with a specific status, newest first, projected straight into DTOs.
      * @param username The username.
      * @param status The status to search for.
      * @return A list of tasks.
      */
-    List<Task> findUserTasksByStatus(String username, TaskStatus status);
+    List<TaskDto> findUserTasksByStatus(String username, TaskStatus status);
 
     /**
-     * Searches for tasks of a specified user by a partial match in the title.
+     * Searches for tasks of a specified user by a case-insensitive partial match in the title.
+     * Results are ranked: exact title, then title prefix, then word prefix, then any position; newest first within a rank.
      * @param username The username.
      * @param title The part of the title to search for.
-     * @return A list of found tasks.
+     * @param limit The maximum number of tasks to return.
+     * @return A list of found tasks, best match first.
      */
-    List<Task> searchUserTasks(String username, String title);
+    List<TaskDto> searchUserTasks(String username, String title, int limit);
 
     /**
      * Returns the number of tasks for a user with a specific status.
@@ -89,6 +144,13 @@ public interface ITaskService {
      */
     long getUserTaskCount(String username, TaskStatus status);
 
+    /**
+     * Returns the number of tasks a user has in every status, read from the maintained counters.
+     * @param username The username.
+     * @return A map containing an entry for every status.
+     */
+    Map<TaskStatus, Long> getUserTaskCounts(String username);
+
     /**
      * Returns the total number of tasks in the system with a specific status.
      * @param status The status for counting.
@@ -97,11 +159,12 @@ public interface ITaskService {
     long getTotalTaskCount(TaskStatus status);
 
     /**
-     * Returns a cached list of user tasks.
+     * Returns a cached list of user tasks, newest first.
+     * The list is unmodifiable and shared with other callers; entries are evicted when the user's tasks change.
      * @param username The username.
      * @return A cached list of tasks.
      */
-    List<Task> findUserTasksCached(String username);
+    List<TaskDto> findUserTasksCached(String username);
 
     /**
      * Asynchronously returns a list of all tasks in the system.
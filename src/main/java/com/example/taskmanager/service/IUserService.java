@@ -3,14 +3,16 @@ package com.example.taskmanager.service;
 import com.example.taskmanager.dto.UserRegistrationDto;
 import com.example.taskmanager.model.Role;
 import com.example.taskmanager.model.User;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 import java.util.List;
 
 /**
  * Interface defining the contract for the user management service.
+ * As a {@link UserDetailsPasswordService} it stores hashes re-encoded on login when the hashing cost changes.
  */
-public interface IUserService extends UserDetailsService {
+public interface IUserService extends UserDetailsService, UserDetailsPasswordService {
 
     /**
      * Registers a new user in the system.
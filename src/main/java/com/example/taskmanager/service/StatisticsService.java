@@ -0,0 +1,49 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.StatisticsDto;
+import com.example.taskmanager.model.Role;
+import com.example.taskmanager.model.TaskStatus;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.projection.BucketCount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class StatisticsService implements IStatisticsService {
+
+    private static final String TASK_KIND = "TASK";
+    private static final String USER_KIND = "USER";
+
+    private final TaskRepository taskRepository;
+
+    @Transactional(readOnly = true)
+    public StatisticsDto getStatistics() {
+        Map<TaskStatus, Long> tasksByStatus = new EnumMap<>(TaskStatus.class);
+        Map<Role, Long> usersByRole = new EnumMap<>(Role.class);
+
+        for (BucketCount row : taskRepository.countTasksByStatusAndUsersByRole()) {
+            if (TASK_KIND.equals(row.getKind())) {
+                tasksByStatus.put(TaskStatus.valueOf(row.getBucket()), row.getTotal());
+            } else if (USER_KIND.equals(row.getKind())) {
+                usersByRole.put(Role.valueOf(row.getBucket()), row.getTotal());
+            }
+        }
+
+        StatisticsDto stats = new StatisticsDto();
+        stats.setAdminUsers(usersByRole.getOrDefault(Role.ADMIN, 0L));
+        stats.setRegularUsers(usersByRole.getOrDefault(Role.USER, 0L));
+        stats.setTotalUsers(usersByRole.values().stream().mapToLong(Long::longValue).sum());
+        stats.setPendingTasks(tasksByStatus.getOrDefault(TaskStatus.PENDING, 0L));
+        stats.setInProgressTasks(tasksByStatus.getOrDefault(TaskStatus.IN_PROGRESS, 0L));
+        stats.setCompletedTasks(tasksByStatus.getOrDefault(TaskStatus.COMPLETED, 0L));
+        stats.setCancelledTasks(tasksByStatus.getOrDefault(TaskStatus.CANCELLED, 0L));
+        stats.setTotalTasks(tasksByStatus.values().stream().mapToLong(Long::longValue).sum());
+        return stats;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.config.AppProperties;
+import com.example.taskmanager.dto.TaskChangeFeed;
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.model.TaskChange;
+import com.example.taskmanager.repository.TaskChangeRepository;
+import com.example.taskmanager.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serves {@code GET /api/tasks/changes} from the {@code task_changes} log.
+ * <p>
+ * Sequence numbers are assigned on insert, slightly before commit, so an entry can become visible after
+ * one with a higher number. The returned {@code next} therefore never moves past an entry younger than
+ * {@code app.change-feed.settle}: such entries are sent, but sent again on the next call, together with
+ * anything that committed late below them. Clients apply changes idempotently, so repeats are harmless.
+ * Reads may be served by the read replica, so the settle window has to cover replication lag as well.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class TaskChangeFeedService implements ITaskChangeFeedService {
+    private static final Logger logger = LoggerFactory.getLogger(TaskChangeFeedService.class);
+
+    private final TaskChangeRepository taskChangeRepository;
+    private final TaskRepository taskRepository;
+    private final IUserService userService;
+    private final AppProperties appProperties;
+
+    @Override
+    public TaskChangeFeed getChanges(String username, long since, Integer limit) {
+        Long userId = userService.findByUsername(username).getId();
+        LocalDateTime settledBefore = LocalDateTime.now().minus(appProperties.getChangeFeed().getSettle());
+        if (since < taskChangeRepository.findHorizon()) {
+            return new TaskChangeFeed(List.of(), List.of(), taskChangeRepository.findSettledHead(settledBefore), false, true);
+        }
+
+        int pageSize = appProperties.getPagination().resolveLimit(limit);
+        List<TaskChange> page = taskChangeRepository.findLatestByUserIdSince(userId, since, PageRequest.of(0, pageSize + 1));
+        boolean more = page.size() > pageSize;
+        if (more) {
+            page = page.subList(0, pageSize);
+        }
+
+        long next = since;
+        boolean settled = true;
+        for (TaskChange change : page) {
+            if (change.getChangedAt().isAfter(settledBefore)) {
+                settled = false;
+                break;
+            }
+            next = change.getSeq();
+        }
+
+        List<Long> liveIds = page.stream()
+                .filter(change -> change.getChangeType() != TaskChangedEvent.ChangeType.DELETED)
+                .map(TaskChange::getTaskId)
+                .toList();
+        Map<Long, TaskDto> tasks = liveIds.isEmpty() ? Map.of()
+                : taskRepository.findDtosByIdIn(liveIds).stream().collect(Collectors.toMap(TaskDto::getId, Function.identity()));
+
+        List<TaskDto> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (TaskChange change : page) {
+            TaskDto task = tasks.get(change.getTaskId());
+            // A task deleted after this page was read shows up as a tombstone now rather than on the next call.
+            if (task == null) {
+                deleted.add(change.getTaskId());
+            } else {
+                changed.add(task);
+            }
+        }
+        // Stop paging at unsettled entries; the client comes back for them on its next sync.
+        return new TaskChangeFeed(changed, deleted, next, more && settled, false);
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.change-feed.compact-interval:PT1H}", initialDelayString = "PT5M")
+    public void compact() {
+        AppProperties.ChangeFeed config = appProperties.getChangeFeed();
+        LocalDateTime now = LocalDateTime.now();
+        int superseded = taskChangeRepository.deleteSuperseded(now.minus(config.getCompactAfter()));
+
+        int tombstones = 0;
+        long lastTombstone = taskChangeRepository.findLastTombstoneBefore(TaskChangedEvent.ChangeType.DELETED,
+                now.minus(config.getTombstoneRetention()));
+        if (lastTombstone > 0) {
+            // Raised first, so no client can skip a tombstone without being told to start over.
+            taskChangeRepository.raiseHorizon(lastTombstone);
+            tombstones = taskChangeRepository.deleteTombstonesUpTo(TaskChangedEvent.ChangeType.DELETED, lastTombstone);
+        }
+        if (superseded > 0 || tombstones > 0) {
+            logger.info("Compacted task change log: {} superseded entries and {} expired tombstones removed", superseded, tombstones);
+        }
+    }
+}
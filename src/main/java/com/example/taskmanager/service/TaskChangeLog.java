@@ -0,0 +1,71 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.event.TaskChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends every {@link TaskChangedEvent} to {@code task_changes} inside the transaction that made the change,
+ * so the log and the tasks commit or roll back together.
+ * <p>
+ * The events of one transaction are collected and inserted as a single JDBC batch just before it commits;
+ * the database assigns {@code seq} at that point, which keeps the gap between numbering and commit short.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskChangeLog {
+
+    private static final String INSERT =
+            "INSERT INTO task_changes (task_id, user_id, change_type, changed_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener
+    @SuppressWarnings("unchecked")
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(List.of(event));
+            return;
+        }
+        List<TaskChangedEvent> pending = (List<TaskChangedEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<TaskChangedEvent> events = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    insert(events);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TaskChangeLog.this);
+                }
+            });
+            pending = events;
+        }
+        pending.add(event);
+    }
+
+    private void insert(List<TaskChangedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.taskId());
+            ps.setLong(2, event.userId());
+            ps.setString(3, event.type().name());
+            ps.setTimestamp(4, now);
+        });
+    }
+}
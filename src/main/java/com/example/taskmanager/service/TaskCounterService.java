@@ -0,0 +1,86 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.model.TaskStatus;
+import com.example.taskmanager.repository.UserTaskCounterRepository;
+import com.example.taskmanager.repository.projection.StatusCount;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class TaskCounterService implements ITaskCounterService {
+    private static final Logger logger = LoggerFactory.getLogger(TaskCounterService.class);
+
+    private final UserTaskCounterRepository counterRepository;
+
+    public Map<TaskStatus, Long> getCounts(Long userId) {
+        List<StatusCount> rows = counterRepository.findCountsByUserId(userId);
+        if (rows.size() < TaskStatus.values().length) {
+            // Users created outside registerUser (seed data, bulk loads) may not have counters yet.
+            rebuild(userId);
+            rows = counterRepository.findCountsByUserId(userId);
+        }
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            counts.put(status, 0L);
+        }
+        for (StatusCount row : rows) {
+            counts.put(row.getStatus(), row.getTaskCount());
+        }
+        return counts;
+    }
+
+    public long getCount(Long userId, TaskStatus status) {
+        return getCounts(userId).get(status);
+    }
+
+    public void initialize(Long userId) {
+        rebuild(userId);
+    }
+
+    public void adjust(Long userId, TaskStatus status, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (counterRepository.adjust(userId, status, delta) == 0) {
+            // No row yet: recount from the tasks table, which already contains this change.
+            logger.warn("Missing task counters for user {}, rebuilding", userId);
+            rebuild(userId);
+        }
+    }
+
+    public void move(Long userId, TaskStatus from, TaskStatus to) {
+        if (from == to) {
+            return;
+        }
+        adjust(userId, from, -1);
+        adjust(userId, to, 1);
+    }
+
+    public void rebuild(Long userId) {
+        // The recount reads the tasks table with native SQL, which would not see task changes still pending in this session.
+        counterRepository.flush();
+        counterRepository.deleteByUserId(userId);
+        for (TaskStatus status : TaskStatus.values()) {
+            counterRepository.recountForUser(userId, status.name());
+        }
+    }
+
+    public void rebuildAll() {
+        logger.info("Rebuilding task counters for all users");
+        counterRepository.flush();
+        counterRepository.deleteAllInBatch();
+        for (TaskStatus status : TaskStatus.values()) {
+            counterRepository.recountForAllUsers(status.name());
+        }
+        logger.info("Task counters rebuilt");
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class TaskExportService implements ITaskExportService {
+
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+
+    public long exportTasks(OutputStream out) throws IOException {
+        // Per-value flushing would push every row to the client as its own chunk; let the generator buffer fill instead
+        ObjectWriter writer = objectMapper.writerFor(TaskDto.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (Stream<TaskDto> tasks = taskRepository.streamAllForExport();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // NDJSON: one value per line, no separator between root values, and leave the response stream open
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<TaskDto> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+}
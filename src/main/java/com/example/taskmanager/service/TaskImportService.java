@@ -0,0 +1,309 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.audit.AuditAction;
+import com.example.taskmanager.audit.AuditLog;
+import com.example.taskmanager.config.AppProperties;
+import com.example.taskmanager.config.CacheConfig;
+import com.example.taskmanager.dto.TaskCreateDto;
+import com.example.taskmanager.dto.TaskImportReport;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.importer.ImportFormat;
+import com.example.taskmanager.importer.MalformedRecordException;
+import com.example.taskmanager.importer.TaskImportRecord;
+import com.example.taskmanager.importer.TaskRecordReader;
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskStatus;
+import com.example.taskmanager.repository.TaskBatchWriter;
+import com.example.taskmanager.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Two-stage import pipeline. The request thread parses, validates and resolves owners; a writer
+ * thread persists chunks of {@code app.batch.flush-size} rows, each in its own transaction, through
+ * {@link TaskBatchWriter}. The stages are joined by a bounded queue, so parsing runs ahead of the
+ * database by at most {@code app.bulk-import.queue-capacity} chunks and memory stays flat.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskImportService implements ITaskImportService {
+    private static final Logger logger = LoggerFactory.getLogger(TaskImportService.class);
+
+    private static final long HANDOFF_POLL_MILLIS = 100;
+
+    private final UserRepository userRepository;
+    private final TaskBatchWriter taskBatchWriter;
+    private final ITaskCounterService taskCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final CacheManager cacheManager;
+    private final AuditLog auditLog;
+    private final AppProperties appProperties;
+
+    private ExecutorService writers;
+
+    // A validated record, ready to be written.
+    private record PendingTask(long line, Long userId, String title, String description, TaskStatus status) {
+    }
+
+    @PostConstruct
+    void startWriters() {
+        writers = Executors.newFixedThreadPool(appProperties.getBulkImport().getMaxConcurrent(),
+                new CustomizableThreadFactory("task-import-"));
+    }
+
+    @PreDestroy
+    void stopWriters() {
+        writers.shutdownNow();
+    }
+
+    public TaskImportReport importTasks(InputStream in, ImportFormat format) throws IOException {
+        long started = System.nanoTime();
+        int chunkSize = appProperties.getBatch().getFlushSize();
+        ImportProgress progress = new ImportProgress(appProperties.getBulkImport().getMaxReportedErrors());
+        BlockingQueue<List<PendingTask>> queue = new ArrayBlockingQueue<>(appProperties.getBulkImport().getQueueCapacity());
+        // The writer thread has no security context of its own.
+        String actor = AuditLog.currentActor();
+        Future<?> writer = writers.submit(() -> {
+            drain(queue, progress, actor);
+            return null;
+        });
+
+        // Resolved once per import; most migrations carry many tasks per user.
+        Map<String, Optional<Long>> userIds = new HashMap<>();
+        Throwable failure = null;
+        try (TaskRecordReader reader = TaskRecordReader.open(format, in, objectMapper)) {
+            List<PendingTask> chunk = new ArrayList<>(chunkSize);
+            while (true) {
+                TaskImportRecord record;
+                try {
+                    record = reader.next();
+                } catch (MalformedRecordException e) {
+                    progress.received();
+                    progress.reject(e.getLine(), e.getMessage());
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                progress.received();
+                PendingTask task = validate(record, userIds, progress);
+                if (task != null) {
+                    chunk.add(task);
+                    if (chunk.size() == chunkSize) {
+                        handOff(queue, chunk, writer);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                handOff(queue, chunk, writer);
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            finishWriter(queue, writer, failure);
+            evictUserTasks(userIds);
+            if (failure != null) {
+                logger.warn("Task import aborted after {} tasks were imported: {}",
+                        progress.toReport().getImported(), failure.getMessage());
+            }
+        }
+
+        TaskImportReport report = progress.toReport();
+        logger.info("Imported {} of {} tasks ({} rejected) in {} ms", report.getImported(), report.getReceived(),
+                report.getFailed(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return report;
+    }
+
+    private PendingTask validate(TaskImportRecord record, Map<String, Optional<Long>> userIds, ImportProgress progress) {
+        TaskCreateDto dto = new TaskCreateDto();
+        dto.setTitle(record.title());
+        dto.setDescription(record.description());
+        List<String> problems = validator.validate(dto).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        TaskStatus status = TaskStatus.PENDING;
+        if (record.status() != null && !record.status().isBlank()) {
+            try {
+                status = TaskStatus.valueOf(record.status().trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                problems.add("Unknown status: " + record.status());
+            }
+        }
+
+        Long userId = null;
+        if (record.username() == null || record.username().isBlank()) {
+            problems.add("Username is required");
+        } else {
+            userId = userIds.computeIfAbsent(record.username(), userRepository::findIdByUsername).orElse(null);
+            if (userId == null) {
+                problems.add("Unknown user: " + record.username());
+            }
+        }
+
+        if (!problems.isEmpty()) {
+            progress.reject(record.line(), String.join("; ", problems));
+            return null;
+        }
+        return new PendingTask(record.line(), userId, record.title(), record.description(), status);
+    }
+
+    private void handOff(BlockingQueue<List<PendingTask>> queue, List<PendingTask> chunk, Future<?> writer) {
+        try {
+            // Blocks while the writer is behind; that is the backpressure on the request body.
+            while (!queue.offer(chunk, HANDOFF_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (writer.isDone()) {
+                    throw new IllegalStateException("Task import writer stopped unexpectedly");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing imported tasks", e);
+        }
+    }
+
+    // Lets the writer finish what was already queued, even if reading failed. A failure here is attached to the
+    // one that aborted the import rather than replacing it.
+    private void finishWriter(BlockingQueue<List<PendingTask>> queue, Future<?> writer, Throwable failure) {
+        try {
+            handOff(queue, List.of(), writer);
+            awaitWriter(writer);
+        } catch (RuntimeException e) {
+            writer.cancel(true);
+            if (failure == null) {
+                throw e;
+            }
+            failure.addSuppressed(e);
+        }
+    }
+
+    private void awaitWriter(Future<?> writer) {
+        try {
+            writer.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the task import writer", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Task import writer failed", e.getCause());
+        }
+    }
+
+    // Runs on a writer thread; an empty chunk marks the end of the input.
+    private void drain(BlockingQueue<List<PendingTask>> queue, ImportProgress progress, String actor) throws InterruptedException {
+        while (true) {
+            List<PendingTask> chunk = queue.take();
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(tx -> write(chunk, actor));
+                progress.imported(chunk.size());
+            } catch (RuntimeException e) {
+                logger.warn("Task import chunk starting at line {} failed", chunk.get(0).line(), e);
+                String message = "Not imported: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                chunk.forEach(task -> progress.reject(task.line(), message));
+            }
+        }
+    }
+
+    private void write(List<PendingTask> chunk, String actor) {
+        List<Task> tasks = new ArrayList<>(chunk.size());
+        Map<Long, Map<TaskStatus, Long>> counterDeltas = new HashMap<>();
+        for (PendingTask pending : chunk) {
+            Task task = new Task();
+            task.setTitle(pending.title());
+            task.setDescription(pending.description());
+            task.setStatus(pending.status());
+            // A reference proxy is enough for the foreign key; the user row is never loaded.
+            task.setUser(userRepository.getReferenceById(pending.userId()));
+            tasks.add(task);
+            counterDeltas.computeIfAbsent(pending.userId(), id -> new EnumMap<>(TaskStatus.class))
+                    .merge(pending.status(), 1L, Long::sum);
+        }
+        taskBatchWriter.persistAll(tasks);
+        counterDeltas.forEach((userId, byStatus) ->
+                byStatus.forEach((status, delta) -> taskCounterService.adjust(userId, status, delta)));
+        tasks.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.created(task)));
+        // Per chunk, so the tasks of an import that is aborted later are still accounted for.
+        auditLog.record(AuditAction.TASK_CREATED, actor, tasks.stream().map(Task::getId).toList(), "import");
+    }
+
+    private void evictUserTasks(Map<String, Optional<Long>> userIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_TASKS);
+        if (cache != null) {
+            userIds.keySet().forEach(cache::evict);
+        }
+    }
+
+    // Shared by the parsing and writing threads.
+    private static final class ImportProgress {
+        private final int maxReportedErrors;
+        private final List<TaskImportReport.LineError> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long failed;
+
+        ImportProgress(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        synchronized void received() {
+            received++;
+        }
+
+        synchronized void imported(int count) {
+            imported += count;
+        }
+
+        synchronized void reject(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new TaskImportReport.LineError(line, message));
+            }
+        }
+
+        synchronized TaskImportReport toReport() {
+            List<TaskImportReport.LineError> sorted = new ArrayList<>(errors);
+            sorted.sort(Comparator.comparingLong(TaskImportReport.LineError::getLine));
+            return new TaskImportReport(received, imported, failed, sorted, failed > errors.size());
+        }
+    }
+}
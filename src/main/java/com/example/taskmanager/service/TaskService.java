@@ -1,38 +1,67 @@
 package com.example.taskmanager.service;
 
+import com.example.taskmanager.audit.AuditAction;
+import com.example.taskmanager.audit.AuditLog;
+import com.example.taskmanager.cache.EntityCache;
+import com.example.taskmanager.dto.CursorPage;
+import com.example.taskmanager.dto.TaskBatchUpdateDto;
 import com.example.taskmanager.dto.TaskCreateDto;
+import com.example.taskmanager.dto.TaskDto;
 import com.example.taskmanager.dto.TaskUpdateDto;
+import com.example.taskmanager.event.TaskChangedEvent;
 import com.example.taskmanager.exception.TaskNotFoundException;
 import com.example.taskmanager.exception.UnauthorizedAccessException;
 import com.example.taskmanager.model.Role;
 import com.example.taskmanager.model.Task;
 import com.example.taskmanager.model.TaskStatus;
 import com.example.taskmanager.model.User;
+import com.example.taskmanager.monitoring.Monitored;
+import com.example.taskmanager.repository.TaskBatchWriter;
 import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.search.TaskSearchIndex;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.scheduling.annotation.Async;
 import java.util.concurrent.CompletableFuture;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Monitored
 @Transactional
 @RequiredArgsConstructor
 public class TaskService implements ITaskService {
     private static final Logger logger = LoggerFactory.getLogger(TaskService.class);
 
     private final TaskRepository taskRepository;
+    private final TaskBatchWriter taskBatchWriter;
     private final IUserService userService;
+    private final ITaskCounterService taskCounterService;
+    private final TaskSearchIndex taskSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditLog auditLog;
+    private final EntityCache entityCache;
 
     @CacheEvict(value = "userTasks", key = "#username")
     public Task createTask(TaskCreateDto taskDto, String username) {
-        logger.info("Creating task for user: {}", username);
+        logger.debug("Creating task for user: {}", username);
         
         User user = userService.findByUsername(username);
         
@@ -43,14 +72,16 @@ public class TaskService implements ITaskService {
         task.setStatus(TaskStatus.PENDING);
         
         Task savedTask = taskRepository.save(task);
-        logger.info("Task created successfully: {} for user: {}", savedTask.getId(), username);
+        taskCounterService.adjust(user.getId(), TaskStatus.PENDING, 1);
+        eventPublisher.publishEvent(TaskChangedEvent.created(savedTask));
+        auditLog.record(AuditAction.TASK_CREATED, username, savedTask.getId(), null);
         
         return savedTask;
     }
 
     @CacheEvict(value = "userTasks", key = "#username")
     public Task updateTask(Long taskId, TaskUpdateDto taskDto, String username) {
-        logger.info("Updating task: {} by user: {}", taskId, username);
+        logger.debug("Updating task: {} by user: {}", taskId, username);
 
         Task task = findTaskById(taskId);
         User currentUser = userService.findByUsername(username);
@@ -59,6 +90,7 @@ public class TaskService implements ITaskService {
             throw new UnauthorizedAccessException("User cannot update this task");
         }
         
+        TaskStatus previousStatus = task.getStatus();
         if (taskDto.getTitle() != null) {
             task.setTitle(taskDto.getTitle());
         }
@@ -70,19 +102,135 @@ public class TaskService implements ITaskService {
         }
         
         Task updatedTask = taskRepository.save(task);
-        logger.info("Task updated successfully: {}", taskId);
+        taskCounterService.move(task.getUser().getId(), previousStatus, task.getStatus());
+        eventPublisher.publishEvent(TaskChangedEvent.updated(updatedTask));
+        auditLog.record(AuditAction.TASK_UPDATED, username, taskId, statusChange(previousStatus, task.getStatus()));
         
         return updatedTask;
     }
 
     @CacheEvict(value = "userTasks", key = "#username")
     public void deleteTask(Long taskId, String username) {
-        logger.info("Deleting task: {} by user: {}", taskId, username);
+        logger.debug("Deleting task: {} by user: {}", taskId, username);
 
         Task task = findAndVerifyTaskAccess(taskId, username);
 
         taskRepository.delete(task);
-        logger.info("Task deleted successfully: {}", taskId);
+        taskCounterService.adjust(task.getUser().getId(), task.getStatus(), -1);
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(task));
+        auditLog.record(AuditAction.TASK_DELETED, username, taskId, null);
+    }
+
+    @CacheEvict(value = "userTasks", key = "#username")
+    public List<Task> createTasks(List<TaskCreateDto> taskDtos, String username) {
+        logger.debug("Creating {} tasks for user: {}", taskDtos.size(), username);
+
+        User user = userService.findByUsername(username);
+        List<Task> tasks = new ArrayList<>(taskDtos.size());
+        for (TaskCreateDto taskDto : taskDtos) {
+            Task task = new Task();
+            task.setTitle(taskDto.getTitle());
+            task.setDescription(taskDto.getDescription());
+            task.setUser(user);
+            task.setStatus(TaskStatus.PENDING);
+            tasks.add(task);
+        }
+
+        taskBatchWriter.persistAll(tasks);
+        taskCounterService.adjust(user.getId(), TaskStatus.PENDING, tasks.size());
+        tasks.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.created(task)));
+        auditLog.record(AuditAction.TASK_CREATED, username, tasks.stream().map(Task::getId).toList(), null);
+
+        return tasks;
+    }
+
+    @CacheEvict(value = "userTasks", key = "#username")
+    public List<Task> updateTasks(List<TaskBatchUpdateDto> taskDtos, String username) {
+        logger.debug("Updating {} tasks by user: {}", taskDtos.size(), username);
+
+        User currentUser = userService.findByUsername(username);
+        Map<Long, Task> tasksById = findAndVerifyTasksAccess(
+                taskDtos.stream().map(TaskBatchUpdateDto::getId).toList(), currentUser);
+
+        Map<Long, Map<TaskStatus, Long>> counterDeltas = new HashMap<>();
+        List<Task> updatedTasks = new ArrayList<>(taskDtos.size());
+        for (TaskBatchUpdateDto taskDto : taskDtos) {
+            Task task = tasksById.get(taskDto.getId());
+            TaskStatus previousStatus = task.getStatus();
+            if (taskDto.getTitle() != null) {
+                task.setTitle(taskDto.getTitle());
+            }
+            if (taskDto.getDescription() != null) {
+                task.setDescription(taskDto.getDescription());
+            }
+            if (taskDto.getStatus() != null) {
+                task.setStatus(TaskStatus.valueOf(taskDto.getStatus()));
+            }
+            addCounterDelta(counterDeltas, task.getUser().getId(), previousStatus, -1);
+            addCounterDelta(counterDeltas, task.getUser().getId(), task.getStatus(), 1);
+            updatedTasks.add(task);
+        }
+
+        // Dirty checking turns the changes into batched UPDATEs on flush.
+        taskBatchWriter.flushAndClear();
+        applyCounterDeltas(counterDeltas);
+        updatedTasks.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.updated(task)));
+        auditLog.record(AuditAction.TASK_UPDATED, username, updatedTasks.stream().map(Task::getId).toList(), null);
+
+        return updatedTasks;
+    }
+
+    @CacheEvict(value = "userTasks", key = "#username")
+    public int deleteTasks(List<Long> taskIds, String username) {
+        logger.debug("Deleting {} tasks by user: {}", taskIds.size(), username);
+
+        User currentUser = userService.findByUsername(username);
+        Map<Long, Task> tasksById = findAndVerifyTasksAccess(taskIds, currentUser);
+
+        Map<Long, Map<TaskStatus, Long>> counterDeltas = new HashMap<>();
+        tasksById.values().forEach(task -> addCounterDelta(counterDeltas, task.getUser().getId(), task.getStatus(), -1));
+
+        // One DELETE ... WHERE id IN (...) instead of a statement per task. Bulk statements bypass the
+        // entity cache events, so the other instances are told to evict explicitly.
+        taskRepository.deleteAllByIdInBatch(tasksById.keySet());
+        entityCache.evict(Task.class, tasksById.keySet());
+        applyCounterDeltas(counterDeltas);
+        tasksById.values().forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.deleted(task)));
+        auditLog.record(AuditAction.TASK_DELETED, username, List.copyOf(tasksById.keySet()), null);
+
+        return tasksById.size();
+    }
+
+    private static String statusChange(TaskStatus previous, TaskStatus current) {
+        return previous == current ? null : "status " + previous + " -> " + current;
+    }
+
+    // Loads all tasks with one query and fails the whole batch if any is missing or not accessible.
+    private Map<Long, Task> findAndVerifyTasksAccess(List<Long> taskIds, User currentUser) {
+        Set<Long> requestedIds = Set.copyOf(taskIds);
+        Map<Long, Task> tasksById = taskRepository.findAllById(requestedIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<Long> missingIds = requestedIds.stream().filter(id -> !tasksById.containsKey(id)).sorted().toList();
+        if (!missingIds.isEmpty()) {
+            throw new TaskNotFoundException("Tasks not found with ids: " + missingIds);
+        }
+        for (Task task : tasksById.values()) {
+            if (!canUserAccessTask(task, currentUser)) {
+                logger.warn("Unauthorized batch access attempt for task {} by user {}", task.getId(), currentUser.getUsername());
+                throw new UnauthorizedAccessException("User cannot access task: " + task.getId());
+            }
+        }
+        return tasksById;
+    }
+
+    private static void addCounterDelta(Map<Long, Map<TaskStatus, Long>> deltas, Long userId, TaskStatus status, long delta) {
+        deltas.computeIfAbsent(userId, id -> new EnumMap<>(TaskStatus.class)).merge(status, delta, Long::sum);
+    }
+
+    private void applyCounterDeltas(Map<Long, Map<TaskStatus, Long>> deltas) {
+        deltas.forEach((userId, byStatus) ->
+                byStatus.forEach((status, delta) -> taskCounterService.adjust(userId, status, delta)));
     }
 
     private Task findAndVerifyTaskAccess(Long taskId, String username) {
@@ -96,56 +244,125 @@ public class TaskService implements ITaskService {
         return task;
     }
     
+    @Transactional(readOnly = true)
     public Task findTaskById(Long taskId) {
         return taskRepository.findById(taskId)
                 .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
     }
     
+    @Transactional(readOnly = true)
     public List<Task> findUserTasks(String username) {
         User user = userService.findByUsername(username);
         return taskRepository.findByUserOrderByCreatedAtDesc(user);
     }
     
+    @Transactional(readOnly = true)
+    public CursorPage<TaskDto> findUserTasksPage(String username, String cursor, int limit) {
+        User user = userService.findByUsername(username);
+        TaskCursor after = TaskCursor.decode(cursor);
+        Pageable pageable = lookAheadPage(limit);
+        List<TaskDto> rows = after == null
+                ? taskRepository.findDtoPageByUserId(user.getId(), pageable)
+                : taskRepository.findDtoPageByUserIdAfter(user.getId(), after.createdAt(), after.id(), pageable);
+        return toPage(rows, limit);
+    }
+    
+    @Transactional(readOnly = true)
     public List<Task> findAllTasks() {
         return taskRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
+    public CursorPage<TaskDto> findAllTasksPage(String cursor, int limit) {
+        TaskCursor after = TaskCursor.decode(cursor);
+        Pageable pageable = lookAheadPage(limit);
+        List<TaskDto> rows = after == null
+                ? taskRepository.findDtoPage(pageable)
+                : taskRepository.findDtoPageAfter(after.createdAt(), after.id(), pageable);
+        return toPage(rows, limit);
+    }
+    
+    @Transactional(readOnly = true)
     public List<Task> findTasksByStatus(TaskStatus status) {
         return taskRepository.findByStatus(status);
     }
     
-    public List<Task> findUserTasksByStatus(String username, TaskStatus status) {
+    @Transactional(readOnly = true)
+    public List<TaskDto> findUserTasksByStatus(String username, TaskStatus status) {
         User user = userService.findByUsername(username);
-        return taskRepository.findByUserAndStatus(user, status);
+        return taskRepository.findDtosByUserIdAndStatus(user.getId(), status);
     }
     
-    public List<Task> searchUserTasks(String username, String title) {
+    @Transactional(readOnly = true)
+    public List<TaskDto> searchUserTasks(String username, String title, int limit) {
         User user = userService.findByUsername(username);
-        return taskRepository.findByUserAndTitleContaining(user, title);
+        Optional<List<Long>> rankedIds = taskSearchIndex.search(user.getId(), title, limit);
+        if (rankedIds.isEmpty()) {
+            logger.debug("Title index not ready, searching the database for user: {}", username);
+            return taskRepository.findDtosByUserIdAndTitleContaining(user.getId(), title, PageRequest.of(0, limit));
+        }
+        if (rankedIds.get().isEmpty()) {
+            return List.of();
+        }
+        Map<Long, TaskDto> byId = taskRepository.findDtosByIdIn(rankedIds.get()).stream()
+                .collect(Collectors.toMap(TaskDto::getId, Function.identity()));
+        // Keep the index ranking; skip ids deleted since the index was consulted.
+        return rankedIds.get().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
     
+    // Not read-only, like getUserTaskCounts: missing counter rows are rebuilt on read.
     public long getUserTaskCount(String username, TaskStatus status) {
         User user = userService.findByUsername(username);
-        return taskRepository.countByUserAndStatus(user, status);
+        return taskCounterService.getCount(user.getId(), status);
     }
     
+    public Map<TaskStatus, Long> getUserTaskCounts(String username) {
+        User user = userService.findByUsername(username);
+        return taskCounterService.getCounts(user.getId());
+    }
+    
+    @Transactional(readOnly = true)
     public long getTotalTaskCount(TaskStatus status) {
         return taskRepository.countByStatus(status);
     }
     
+    @Transactional(readOnly = true)
     @Cacheable("userTasks")
-    public List<Task> findUserTasksCached(String username) {
-        logger.info("Fetching user tasks from DB (cached): {}", username);
-        return findUserTasks(username);
+    public List<TaskDto> findUserTasksCached(String username) {
+        logger.debug("Fetching user tasks from DB (cached): {}", username);
+        User user = userService.findByUsername(username);
+        // Cached values are shared between callers, so the list must not be modifiable.
+        return List.copyOf(taskRepository.findDtosByUserId(user.getId()));
     }
 
+    @Transactional(readOnly = true)
     @Async
     public CompletableFuture<List<Task>> findAllTasksAsync() {
-        logger.info("Fetching all tasks asynchronously in a new thread");
+        logger.debug("Fetching all tasks asynchronously in a new thread");
         List<Task> tasks = taskRepository.findAll();
         return CompletableFuture.completedFuture(tasks);
     }
     
+    // Fetches one row more than requested so we know whether a next page exists without a COUNT query.
+    private Pageable lookAheadPage(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive: " + limit);
+        }
+        return PageRequest.of(0, limit + 1);
+    }
+
+    private CursorPage<TaskDto> toPage(List<TaskDto> rows, int limit) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<TaskDto> items = new ArrayList<>(rows.subList(0, limit));
+        TaskDto last = items.get(items.size() - 1);
+        return new CursorPage<>(items, new TaskCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+    
     private boolean canUserAccessTask(Task task, User user) {
         return user.getRole() == Role.ADMIN || task.getUser().getId().equals(user.getId());
     }
@@ -0,0 +1,154 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.cache.CacheInvalidationBus;
+import com.example.taskmanager.config.AppProperties;
+import com.example.taskmanager.event.TaskChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Change versions for task data, used as ETags so that conditional GETs can be answered without a query.
+ * <p>
+ * Every {@link TaskChangedEvent} moves the owner's version and the global version forward. Versions are
+ * bumped only after commit, and callers read a version before the data it describes, so a tag can be
+ * older than its body (costing one extra full response) but never newer. Versions live in memory; every
+ * tag carries a random epoch so tags issued by a previous run or by another instance never match.
+ * Changes made on other instances arrive through the {@link CacheInvalidationBus} and bump the same
+ * versions; if the bus reports lost messages, the epoch is replaced, which invalidates every tag issued so far.
+ * <p>
+ * With a read replica, a listing read right after a change may still come from a replica that has not caught
+ * up, and would be stored under the new version. So for {@code app.replica.read-your-writes-window} after a
+ * change, the data it touched is not {@linkplain #isUserSettled settled} and callers must not issue a tag for it.
+ */
+@Component
+public class TaskVersionTracker {
+
+    public static final String NAME = "taskVersions";
+
+    private static final Pattern TASK_TAG = Pattern.compile("\"t(\\d+)\\.u(\\d+)\\.");
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final CacheInvalidationBus invalidationBus;
+    private final long settleNanos;
+    private volatile String epoch = newEpoch();
+    private final Map<Long, AtomicLong> userVersions = new ConcurrentHashMap<>();
+    private final AtomicLong globalVersion = new AtomicLong();
+    // System.nanoTime() of the latest change, per user, of any task, and of changes lost on the bus.
+    private final Map<Long, Long> userChangedAt = new ConcurrentHashMap<>();
+    private volatile long globalChangedAt;
+    private volatile long epochChangedAt;
+
+    public TaskVersionTracker(CacheInvalidationBus invalidationBus, AppProperties appProperties) {
+        this.invalidationBus = invalidationBus;
+        AppProperties.Replica replica = appProperties.getReplica();
+        this.settleNanos = replica.isEnabled() ? replica.getReadYourWritesWindow().toNanos() : 0;
+        long settled = System.nanoTime() - settleNanos;
+        this.globalChangedAt = settled;
+        this.epochChangedAt = settled;
+        invalidationBus.register(NAME, userId -> {
+            if (userId == null) {
+                epochChangedAt = System.nanoTime();
+                epoch = newEpoch();
+            } else {
+                bump(Long.valueOf(userId));
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        bump(event.userId());
+        invalidationBus.evictCommitted(NAME, event.userId());
+    }
+
+    public long globalVersion() {
+        return globalVersion.get();
+    }
+
+    /**
+     * @return Whether the user's tasks last changed long enough ago that any database a read may be routed to
+     * has the change, so a listing of them can be tagged. Always true without a read replica.
+     */
+    public boolean isUserSettled(Long userId) {
+        Long changedAt = userChangedAt.get(userId);
+        return (changedAt == null || settled(changedAt)) && settled(epochChangedAt);
+    }
+
+    /**
+     * @return Whether no task changed recently, as {@link #isUserSettled} for listings that span every user's tasks.
+     */
+    public boolean isAllSettled() {
+        return settled(globalChangedAt) && settled(epochChangedAt);
+    }
+
+    /**
+     * @return The ETag for any listing of the user's own tasks.
+     */
+    public String userTasksTag(Long userId) {
+        return "\"u" + userId + "." + epoch + "." + userVersion(userId) + "\"";
+    }
+
+    /**
+     * @return The ETag for listings that span every user's tasks.
+     */
+    public String allTasksTag() {
+        return "\"all." + epoch + "." + globalVersion.get() + "\"";
+    }
+
+    /**
+     * Builds the ETag of a single task. The owner is part of the tag so that a later conditional request
+     * can be checked against the owner's version without loading the task.
+     */
+    public String taskTag(Long taskId, Long ownerId) {
+        return "\"t" + taskId + ".u" + ownerId + "." + epoch + "." + userVersion(ownerId) + "\"";
+    }
+
+    /**
+     * Recomputes the current tag of a task from a tag the client sent for it.
+     * @param taskId The ID of the requested task.
+     * @param ifNoneMatch The {@code If-None-Match} header, may be null.
+     * @return The current tag for the task, if the header names one for it.
+     */
+    public Optional<String> currentTaskTag(Long taskId, String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = TASK_TAG.matcher(ifNoneMatch);
+        while (matcher.find()) {
+            if (matcher.group(1).equals(taskId.toString())) {
+                return Optional.of(taskTag(taskId, Long.valueOf(matcher.group(2))));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void bump(Long userId) {
+        long now = System.nanoTime();
+        userChangedAt.put(userId, now);
+        globalChangedAt = now;
+        userVersions.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+        globalVersion.incrementAndGet();
+    }
+
+    private boolean settled(long changedAt) {
+        return System.nanoTime() - changedAt >= settleNanos;
+    }
+
+    private static String newEpoch() {
+        return Integer.toHexString(RANDOM.nextInt());
+    }
+
+    private long userVersion(Long userId) {
+        AtomicLong version = userVersions.get(userId);
+        return version == null ? 0 : version.get();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.cache.CacheInvalidationBus;
+import com.example.taskmanager.config.AppProperties;
+import com.example.taskmanager.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Function;
+
+/**
+ * Bounded, expiring cache of users by username, so that authentication and the services do not
+ * query the users table on every request.
+ * <p>
+ * Entries are detached copies without the {@code tasks} collection: they are shared between threads
+ * and outlive the persistence context that loaded them, so they must be treated as read-only.
+ * Changes are evicted explicitly, here and on the other replicas through the {@link CacheInvalidationBus}.
+ * Hit and miss counts are published as the {@code cache.*} metrics with {@code cache=users}.
+ */
+@Component
+public class UserCache implements MeterBinder {
+
+    public static final String NAME = "users";
+
+    private final Cache<String, User> users;
+    private final CacheInvalidationBus invalidationBus;
+
+    public UserCache(AppProperties appProperties, CacheInvalidationBus invalidationBus) {
+        AppProperties.UserCache config = appProperties.getUserCache();
+        this.users = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterWrite(config.getTtl())
+                .recordStats()
+                .build();
+        this.invalidationBus = invalidationBus;
+        invalidationBus.register(NAME, username -> {
+            if (username == null) {
+                users.invalidateAll();
+            } else {
+                users.invalidate(username);
+            }
+        });
+    }
+
+    /**
+     * Returns the cached user, loading it on a miss. Failed loads are not cached.
+     */
+    public User get(String username, Function<String, User> loader) {
+        return users.get(username, name -> detachedCopy(loader.apply(name)));
+    }
+
+    /**
+     * Drops the user now and, when called inside a transaction, again after it commits, so a concurrent
+     * reader cannot re-cache the row as it was before the change.
+     */
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        users.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    users.invalidate(username);
+                }
+            });
+        }
+        invalidationBus.evict(NAME, username);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, users, NAME);
+    }
+
+    private static User detachedCopy(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setUsername(user.getUsername());
+        copy.setEmail(user.getEmail());
+        copy.setPassword(user.getPassword());
+        copy.setRole(user.getRole());
+        copy.setEnabled(user.isEnabled());
+        copy.setTokenVersion(user.getTokenVersion());
+        copy.setCreatedAt(user.getCreatedAt());
+        copy.setUpdatedAt(user.getUpdatedAt());
+        return copy;
+    }
+}
@@ -1,25 +1,34 @@
 package com.example.taskmanager.service;
 
+import com.example.taskmanager.audit.AuditAction;
+import com.example.taskmanager.audit.AuditLog;
 import com.example.taskmanager.dto.UserRegistrationDto;
+import com.example.taskmanager.event.TaskChangedEvent;
 import com.example.taskmanager.exception.UserAlreadyExistsException;
 import com.example.taskmanager.exception.UserNotFoundException;
 import com.example.taskmanager.model.Role;
 import com.example.taskmanager.model.User;
+import com.example.taskmanager.monitoring.Monitored;
 import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.security.TokenRevocationRegistry;
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 
 @Service
+@Monitored
 @Transactional
 @RequiredArgsConstructor
 public class UserService implements IUserService  {
@@ -28,26 +37,60 @@ public class UserService implements IUserService  {
     private final UserRepository userRepository;
 
     private final PasswordEncoder passwordEncoder;
+
+    private final ITaskCounterService taskCounterService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final UserCache userCache;
+
+    private final TokenRevocationRegistry tokenRevocations;
+
+    private final AuditLog auditLog;
+
+    private final TransactionTemplate transactionTemplate;
     
+    // Read-write on purpose, so it runs on the primary: a user who has just registered can log in at once.
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        User user;
+        try {
+            user = findByUsername(username);
+        } catch (UserNotFoundException e) {
+            throw new UsernameNotFoundException("User not found: " + username);
+        }
         
         logger.debug("User found: {} with role: {}", username, user.getRole());
         return user;
     }
     
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userDetails.getUsername()));
+        user.setPassword(newEncodedPassword);
+        User updatedUser = userRepository.save(user);
+        userCache.evict(user.getUsername());
+        logger.debug("Password hash upgraded for user: {}", user.getUsername());
+        return updatedUser;
+    }
+    
+    // Hashing may wait for the bounded bcrypt pool, so it happens between two short transactions: a queued
+    // registration must not hold a database connection. The unique constraints still decide a race between
+    // two registrations of the same name.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User registerUser(UserRegistrationDto registrationDto) {
-        logger.info("Registering new user: {}", registrationDto.getUsername());
+        logger.debug("Registering new user: {}", registrationDto.getUsername());
         
-        if (userRepository.existsByUsername(registrationDto.getUsername())) {
-            throw new UserAlreadyExistsException("Username already exists: " + registrationDto.getUsername());
-        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (userRepository.existsByUsername(registrationDto.getUsername())) {
+                throw new UserAlreadyExistsException("Username already exists: " + registrationDto.getUsername());
+            }
 
-        if (userRepository.existsByEmail(registrationDto.getEmail())) {
-            throw new UserAlreadyExistsException("Email already exists: " + registrationDto.getEmail());
-        }
+            if (userRepository.existsByEmail(registrationDto.getEmail())) {
+                throw new UserAlreadyExistsException("Email already exists: " + registrationDto.getEmail());
+            }
+        });
         
         User user = new User();
         user.setUsername(registrationDto.getUsername());
@@ -55,26 +98,33 @@ public class UserService implements IUserService  {
         user.setRole(Role.USER);
         user.setEmail(registrationDto.getEmail());
         
-        User savedUser = userRepository.save(user);
-        logger.info("User registered successfully: {}", savedUser.getUsername());
-        
-        return savedUser;
+        return transactionTemplate.execute(status -> {
+            User savedUser = userRepository.save(user);
+            taskCounterService.initialize(savedUser.getId());
+            userCache.evict(savedUser.getUsername());
+            auditLog.record(AuditAction.USER_REGISTERED, savedUser.getUsername(), savedUser.getId(), null);
+            return savedUser;
+        });
     }
     
+    @Transactional(readOnly = true)
     public User findByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
+        return userCache.get(username, name -> userRepository.findByUsername(name)
+                .orElseThrow(() -> new UserNotFoundException("User not found: " + name)));
     }
     
+    @Transactional(readOnly = true)
     public User findById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
     }
     
+    @Transactional(readOnly = true)
     public List<User> findAllUsers() {
         return userRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public List<User> findActiveUsers() {
         return userRepository.findAllActiveUsers();
     }
@@ -82,29 +132,43 @@ public class UserService implements IUserService  {
     public User updateUserRole(Long userId, Role role) {
         User user = findById(userId);
         user.setRole(role);
+        // Tokens carry the role; make the ones issued before this change unusable.
+        user.setTokenVersion(user.getTokenVersion() + 1);
         User updatedUser = userRepository.save(user);
-        logger.info("User role updated: {} -> {}", user.getUsername(), role);
+        userCache.evict(user.getUsername());
+        tokenRevocations.revokeBelow(user.getId(), user.getTokenVersion());
+        auditLog.record(AuditAction.USER_ROLE_CHANGED, AuditLog.currentActor(), user.getId(), user.getUsername() + " -> " + role);
         return updatedUser;
     }
     
     public void deleteUser(Long userId) {
         User user = findById(userId);
+        // The user's tasks go with it; announce them so task listeners (search index, versions) drop them too.
+        List<TaskChangedEvent> removedTasks = user.getTasks() == null ? List.of()
+                : user.getTasks().stream().map(TaskChangedEvent::deleted).toList();
         userRepository.delete(user);
-        logger.info("User deleted: {}", user.getUsername());
+        userCache.evict(user.getUsername());
+        tokenRevocations.revokeAll(user.getId());
+        removedTasks.forEach(eventPublisher::publishEvent);
+        auditLog.record(AuditAction.USER_DELETED, AuditLog.currentActor(), userId, user.getUsername());
     }
     
+    @Transactional(readOnly = true)
     public long getUserCount() {
         return userRepository.count();
     }
     
+    @Transactional(readOnly = true)
     public long getAdminCount() {
         return userRepository.countByRole(Role.ADMIN);
     }
     
+    @Transactional(readOnly = true)
     public long getRegularUserCount() {
         return userRepository.countByRole(Role.USER);
     }
     
+    // These two guard registration and stay on the primary rather than a possibly lagging replica.
     public boolean isUsernameAvailable(String username) {
         return !userRepository.existsByUsername(username);
     }
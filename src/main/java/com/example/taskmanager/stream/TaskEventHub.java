@@ -0,0 +1,286 @@
+package com.example.taskmanager.stream;
+
+import com.example.taskmanager.cache.CacheInvalidationBus;
+import com.example.taskmanager.config.AppProperties;
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.service.TaskVersionTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Pushes task changes to the owner's open {@code /api/tasks/stream} connections as server-sent events.
+ * <p>
+ * Publishing never blocks: after commit each event is numbered, kept in the owner's replay buffer and
+ * offered to the bounded queue of every subscriber. A small pool of sender threads drains the queues, so
+ * an idle subscriber costs no thread at all. A subscriber whose queue overflows is sent {@code reset} and
+ * closed; the client reconnects and resumes.
+ * <p>
+ * Event ids are {@code <epoch>:<sequence>}. A reconnect with {@code Last-Event-ID} replays the newer events
+ * still in the buffer, or sends {@code reset} (refetch everything) when they are gone or the id comes from
+ * another run or instance. Changes made on other instances arrive through the {@link CacheInvalidationBus}
+ * as {@code refresh} events without a body.
+ */
+@Component
+public class TaskEventHub implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventHub.class);
+
+    public static final String RESET = "reset";
+    public static final String REFRESH = "refresh";
+
+    private final AppProperties.TaskStream config;
+    private final String epoch = Integer.toHexString(new SecureRandom().nextInt());
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+
+    public TaskEventHub(AppProperties appProperties, CacheInvalidationBus invalidationBus) {
+        this.config = appProperties.getTaskStream();
+        this.senders = Executors.newFixedThreadPool(config.getSenderThreads(), new CustomizableThreadFactory("task-stream-"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("task-stream-heartbeat-"));
+        long heartbeatMillis = config.getHeartbeat().toMillis();
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        invalidationBus.register(TaskVersionTracker.NAME, userId -> {
+            if (userId == null) {
+                channels.keySet().forEach(this::publishRefresh);
+            } else {
+                publishRefresh(Long.valueOf(userId));
+            }
+        });
+    }
+
+    /**
+     * Opens a stream of the user's task changes.
+     * @param userId The ID of the subscribing user.
+     * @param lastEventId The {@code Last-Event-ID} header of a reconnecting client, may be null.
+     * @return The emitter to return from the controller; the request is completed asynchronously.
+     */
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        SseEmitter emitter = createEmitter(config.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        withChannel(userId, channel -> {
+            if (lastEventId != null) {
+                replay(channel, subscriber, lastEventId);
+            }
+            channel.subscribers.add(subscriber);
+            emitter.onCompletion(() -> channel.subscribers.remove(subscriber));
+        });
+        // A comment right away commits the response headers, so the client sees the stream open.
+        subscriber.offer(SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskDto task = event.type() == TaskChangedEvent.ChangeType.DELETED
+                ? new TaskDto(event.taskId(), null, null, null, event.userId(), null)
+                : new TaskDto(event.taskId(), event.title(), event.description(), event.status(), event.userId(), event.createdAt());
+        publish(event.userId(), event.type().name().toLowerCase(Locale.ROOT), task);
+    }
+
+    public int subscriberCount() {
+        return channels.values().stream().mapToInt(channel -> channel.subscribers.size()).sum();
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(Subscriber::close));
+        senders.shutdownNow();
+    }
+
+    protected SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void publishRefresh(Long userId) {
+        publish(userId, REFRESH, null);
+    }
+
+    // Numbering, buffering and fan-out happen under the channel lock so subscribers see one order.
+    private void publish(Long userId, String name, TaskDto task) {
+        withChannel(userId, channel -> {
+            StoredEvent event = new StoredEvent(sequence.incrementAndGet(), name, task);
+            channel.recent.add(event);
+            if (channel.recent.size() > config.getReplaySize()) {
+                channel.droppedUpTo = channel.recent.remove().sequence();
+            }
+            channel.lastEventAt = System.nanoTime();
+            channel.subscribers.forEach(subscriber -> subscriber.offer(toSse(event)));
+        });
+    }
+
+    // Runs the action holding the user's channel lock, retrying if the heartbeat retired that channel meanwhile.
+    private void withChannel(Long userId, Consumer<Channel> action) {
+        while (true) {
+            Channel channel = channels.computeIfAbsent(userId, id -> new Channel(sequence.get()));
+            synchronized (channel) {
+                if (!channel.retired) {
+                    action.accept(channel);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void replay(Channel channel, Subscriber subscriber, String lastEventId) {
+        long lastSeen = parseSequence(lastEventId);
+        if (lastSeen < 0 || lastSeen < channel.droppedUpTo) {
+            subscriber.offer(SseEmitter.event().id(eventId(sequence.get())).name(RESET).data(""));
+            return;
+        }
+        channel.recent.stream()
+                .filter(event -> event.sequence() > lastSeen)
+                .forEach(event -> subscriber.offer(toSse(event)));
+    }
+
+    // Returns -1 when the id was not issued by this run of this instance.
+    private long parseSequence(String lastEventId) {
+        int separator = lastEventId.indexOf(':');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private SseEmitter.SseEventBuilder toSse(StoredEvent event) {
+        SseEmitter.SseEventBuilder sse = SseEmitter.event().id(eventId(event.sequence())).name(event.name());
+        return event.task() == null ? sse.data("") : sse.data(event.task(), MediaType.APPLICATION_JSON);
+    }
+
+    private String eventId(long eventSequence) {
+        return epoch + ":" + eventSequence;
+    }
+
+    private void heartbeat() {
+        long idleCutoff = System.nanoTime() - config.getReplayRetention().toNanos();
+        channels.forEach((userId, channel) -> {
+            channel.subscribers.forEach(Subscriber::heartbeat);
+            synchronized (channel) {
+                // Nobody is listening and nobody can still resume: forget the channel.
+                if (channel.subscribers.isEmpty() && channel.lastEventAt - idleCutoff < 0) {
+                    channel.retired = true;
+                    channels.remove(userId, channel);
+                }
+            }
+        });
+    }
+
+    private record StoredEvent(long sequence, String name, TaskDto task) {
+    }
+
+    private static final class Channel {
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        // Guarded by the channel's monitor
+        private final Queue<StoredEvent> recent = new ArrayDeque<>();
+        // Events up to here are no longer replayable; a new channel cannot replay anything before it existed.
+        private long droppedUpTo;
+        private long lastEventAt = System.nanoTime();
+        private boolean retired;
+
+        private Channel(long createdAt) {
+            this.droppedUpTo = createdAt;
+        }
+    }
+
+    private final class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(config.getBufferSize());
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                overflowed.set(true);
+            }
+            schedule();
+        }
+
+        // Only when nothing else is waiting to go out, so heartbeats never fill the buffer.
+        void heartbeat() {
+            if (queue.isEmpty()) {
+                offer(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+
+        void close() {
+            closed = true;
+            emitter.complete();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (overflowed.get()) {
+                    queue.clear();
+                    emitter.send(SseEmitter.event().id(eventId(sequence.get())).name(RESET).data(""));
+                    close();
+                    return;
+                }
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = queue.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Task stream subscriber went away: {}", e.getMessage());
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            if (!closed && (!queue.isEmpty() || overflowed.get())) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * V4: Sequence for task ids, so Hibernate can allocate ids in blocks and batch INSERTs.
+ * <p>
+ * Written in Java because the sequence has to start after the largest existing id, which plain DDL cannot
+ * express the same way on both H2 and PostgreSQL. The increment must match {@code allocationSize} on
+ * {@code Task.id}: the pooled optimizer hands out the {@value #ALLOCATION_SIZE} ids below each value it reads,
+ * so the sequence starts one block above the largest existing id and the first block begins right after it.
+ * <p>
+ * The identity default of {@code tasks.id} is left in place for the rows created by V1, but it is no longer
+ * used: anything inserting tasks with plain SQL must take ids from this sequence range or supply its own.
+ */
+public class V4__task_id_sequence extends BaseJavaMigration {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        long start;
+        try (Statement statement = context.getConnection().createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + " + ALLOCATION_SIZE + " FROM tasks")) {
+            rs.next();
+            start = rs.getLong(1);
+        }
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("CREATE SEQUENCE task_id_seq START WITH " + start + " INCREMENT BY " + ALLOCATION_SIZE);
+        }
+    }
+}
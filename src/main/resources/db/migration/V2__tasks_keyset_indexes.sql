@@ -0,0 +1,10 @@
+-- V2__tasks_keyset_indexes.sql
+-- Composite indexes for keyset (cursor) pagination of task listings.
+
+-- Serves GET /api/tasks: WHERE user_id = ? AND (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC
+-- It also covers every lookup by user_id, so the single-column index from V1 is no longer needed.
+CREATE INDEX IF NOT EXISTS idx_tasks_user_created_id ON tasks (user_id, created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_tasks_user_id;
+
+-- Serves GET /api/tasks/all: WHERE (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_tasks_created_id ON tasks (created_at DESC, id DESC);
@@ -0,0 +1,21 @@
+-- V3__user_task_counters.sql
+-- Per-user task counts by status, so the dashboard does not have to load every task to show them.
+-- Rows are kept in sync by TaskService in the same transaction as each task change.
+
+CREATE TABLE IF NOT EXISTS user_task_counters (
+    user_id       BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE, -- Counters go away with the user
+    status        VARCHAR(50) NOT NULL, -- Corresponds to TaskStatus, stored as a string
+    task_count    BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, status)
+);
+
+-- Backfill one row per user and status from the existing tasks.
+INSERT INTO user_task_counters (user_id, status, task_count)
+SELECT u.id, s.status, (SELECT COUNT(*) FROM tasks t WHERE t.user_id = u.id AND t.status = s.status)
+FROM users u
+CROSS JOIN (
+    SELECT 'PENDING' AS status
+    UNION ALL SELECT 'IN_PROGRESS'
+    UNION ALL SELECT 'COMPLETED'
+    UNION ALL SELECT 'CANCELLED'
+) s;
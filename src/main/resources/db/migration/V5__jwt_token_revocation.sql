@@ -0,0 +1,13 @@
+-- V5__jwt_token_revocation.sql
+-- Support for authenticating API requests from JWT claims alone (jwt.claims-only).
+
+-- Every token carries the version it was issued at; bumping the version invalidates older tokens.
+ALTER TABLE users ADD COLUMN token_version BIGINT NOT NULL DEFAULT 0;
+
+-- Tokens below min_token_version are rejected until expires_at, after which every such token has expired anyway.
+-- No foreign key: rows must outlive deleted users.
+CREATE TABLE IF NOT EXISTS token_revocations (
+    user_id            BIGINT PRIMARY KEY,
+    min_token_version  BIGINT NOT NULL,
+    expires_at         TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
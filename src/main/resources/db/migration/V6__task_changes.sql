@@ -0,0 +1,24 @@
+-- V6__task_changes.sql
+-- Change log for incremental sync (GET /api/tasks/changes?since=N), written in the same transaction as each task change.
+-- seq is assigned by the database on insert, so it grows in insertion order across all instances.
+-- No foreign keys: tombstones must outlive the tasks and users they describe.
+
+CREATE TABLE IF NOT EXISTS task_changes (
+    seq          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    task_id      BIGINT NOT NULL,
+    user_id      BIGINT NOT NULL,
+    change_type  VARCHAR(16) NOT NULL, -- Corresponds to TaskChangedEvent.ChangeType
+    changed_at   TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_changes_user_seq ON task_changes (user_id, seq);
+CREATE INDEX IF NOT EXISTS idx_task_changes_task_seq ON task_changes (task_id, seq);
+
+-- Highest seq whose entry compaction removed without a newer one for the same task (expired tombstones).
+-- Clients that last synced below it have to start over.
+CREATE TABLE IF NOT EXISTS task_changes_horizon (
+    id   INT PRIMARY KEY,
+    seq  BIGINT NOT NULL
+);
+
+INSERT INTO task_changes_horizon (id, seq) VALUES (1, 0);
@@ -0,0 +1,91 @@
+package com.example.taskmanager.unit;
+
+import com.example.taskmanager.audit.AuditAction;
+import com.example.taskmanager.audit.AuditLog;
+import com.example.taskmanager.config.AppProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("Unit")
+@DisplayName("Unit Tests for AuditLog")
+class AuditLogTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path directory;
+
+    // Verifies that recorded events end up as JSON lines in a segment once the writer is stopped.
+    @Test
+    @DisplayName("Should write recorded events as JSON lines")
+    void should_writeJsonLines_when_eventsAreRecorded() throws Exception {
+        AuditLog auditLog = new AuditLog(properties(DataSize.ofMegabytes(1), 10), objectMapper);
+
+        auditLog.record(AuditAction.TASK_CREATED, "alice", 7L, null);
+        auditLog.record(AuditAction.TASK_DELETED, "bob", List.of(8L, 9L), "batch");
+        auditLog.destroy();
+
+        List<JsonNode> lines = readAll();
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0).get("action").asText()).isEqualTo("TASK_CREATED");
+        assertThat(lines.get(0).get("actor").asText()).isEqualTo("alice");
+        assertThat(lines.get(1).get("targetIds")).hasSize(2);
+        assertThat(lines.get(1).get("detail").asText()).isEqualTo("batch");
+    }
+
+    // Ensures that full segments are rotated out and only the newest ones are kept.
+    @Test
+    @DisplayName("Should rotate segments and keep only the newest")
+    void should_rotateAndPrune_when_segmentsFillUp() throws Exception {
+        AuditLog auditLog = new AuditLog(properties(DataSize.ofBytes(1), 3), objectMapper);
+
+        // Each event goes into its own batch so every write finds the segment full.
+        for (long i = 0; i < 6; i++) {
+            auditLog.record(AuditAction.TASK_UPDATED, "alice", i, null);
+            Thread.sleep(30);
+        }
+        auditLog.destroy();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(3);
+        }
+        assertThat(readAll()).extracting(line -> line.get("targetIds").get(0).asLong()).contains(5L);
+    }
+
+    private AppProperties properties(DataSize segmentSize, int maxSegments) {
+        AppProperties properties = new AppProperties();
+        AppProperties.Audit audit = properties.getAudit();
+        audit.setDirectory(directory.toString());
+        audit.setFlushInterval(Duration.ofMillis(5));
+        audit.setSegmentSize(segmentSize);
+        audit.setMaxSegments(maxSegments);
+        return properties;
+    }
+
+    private List<JsonNode> readAll() throws IOException {
+        List<JsonNode> lines = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory).sorted()) {
+            for (Path file : files.toList()) {
+                for (String line : Files.readAllLines(file)) {
+                    lines.add(objectMapper.readTree(line));
+                }
+            }
+        }
+        return lines;
+    }
+}
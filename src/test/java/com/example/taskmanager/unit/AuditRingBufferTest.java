@@ -0,0 +1,103 @@
+package com.example.taskmanager.unit;
+
+import com.example.taskmanager.audit.AuditAction;
+import com.example.taskmanager.audit.AuditEvent;
+import com.example.taskmanager.audit.AuditRingBuffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Tag("Unit")
+@DisplayName("Unit Tests for AuditRingBuffer")
+class AuditRingBufferTest {
+
+    // Verifies that events come out in the order they went in.
+    @Test
+    @DisplayName("Should drain events in insertion order")
+    void should_drainInOrder_when_eventsAreOffered() {
+        AuditRingBuffer buffer = new AuditRingBuffer(8);
+        for (long i = 0; i < 5; i++) {
+            assertThat(buffer.offer(event(i))).isTrue();
+        }
+
+        List<AuditEvent> drained = new ArrayList<>();
+        int count = buffer.drainTo(drained, 10);
+
+        assertThat(count).isEqualTo(5);
+        assertThat(drained).extracting(AuditEvent::timestamp).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(buffer.size()).isZero();
+    }
+
+    // Ensures that a full buffer rejects instead of blocking, and accepts again once drained.
+    @Test
+    @DisplayName("Should reject events when full and accept them after draining")
+    void should_rejectEvents_when_bufferIsFull() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        for (long i = 0; i < 4; i++) {
+            buffer.offer(event(i));
+        }
+
+        assertThat(buffer.offer(event(4))).isFalse();
+
+        buffer.drainTo(new ArrayList<>(), 2);
+        assertThat(buffer.offer(event(5))).isTrue();
+        assertThat(buffer.size()).isEqualTo(3);
+    }
+
+    // Verifies that concurrent producers neither lose nor duplicate events while the consumer keeps draining.
+    @Test
+    @DisplayName("Should deliver every event exactly once with concurrent producers")
+    void should_deliverEveryEventOnce_when_producersRunConcurrently() throws InterruptedException {
+        AuditRingBuffer buffer = new AuditRingBuffer(64);
+        int producers = 4;
+        int perProducer = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            executor.execute(() -> {
+                for (long i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(event(base + i))) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        Set<Long> seen = new HashSet<>();
+        List<AuditEvent> batch = new ArrayList<>();
+        while (seen.size() < producers * perProducer) {
+            buffer.drainTo(batch, 128);
+            batch.forEach(event -> assertThat(seen.add(event.timestamp())).isTrue());
+            batch.clear();
+        }
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        assertThat(buffer.size()).isZero();
+    }
+
+    // Ensures that capacities which cannot be masked are refused up front.
+    @Test
+    @DisplayName("Should refuse a capacity that is not a power of two")
+    void should_refuseCapacity_when_notPowerOfTwo() {
+        assertThatThrownBy(() -> new AuditRingBuffer(100)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static AuditEvent event(long timestamp) {
+        return new AuditEvent(timestamp, AuditAction.TASK_CREATED, "user", List.of(timestamp), null);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.taskmanager.unit;
+
+import com.example.taskmanager.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("Unit")
+@DisplayName("Unit Tests for BoundedPasswordEncoder")
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(5, 1, 4, 1, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        encoder.destroy();
+    }
+
+    // Verifies that hashing runs on the pool, gives a usable hash and records queue and hashing time.
+    @Test
+    @DisplayName("Should encode and match on the hashing pool and record timings")
+    void should_encodeAndMatch_when_poolHasCapacity() {
+        String hash = encoder.encode("secret");
+
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(meterRegistry.get("password.hashing.queue").tag("operation", "matches").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "encode").timer().count()).isEqualTo(1);
+    }
+
+    // Ensures that hashes made with another cost factor are flagged for rehashing, whether lower or higher.
+    @Test
+    @DisplayName("Should request an upgrade only when the stored cost differs from the configured one")
+    void should_requestUpgrade_when_costDiffers() {
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret"))).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("secret"))).isFalse();
+    }
+}
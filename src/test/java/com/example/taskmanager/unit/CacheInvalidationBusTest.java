@@ -0,0 +1,127 @@
+package com.example.taskmanager.unit;
+
+import com.example.taskmanager.cache.CacheInvalidationBus;
+import com.example.taskmanager.cache.InvalidationBatch;
+import com.example.taskmanager.cache.InvalidationTransport;
+import com.example.taskmanager.cache.LoopbackInvalidationTransport;
+import com.example.taskmanager.config.AppProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("Unit")
+@DisplayName("Unit Tests for CacheInvalidationBus")
+class CacheInvalidationBusTest {
+
+    private final String channel = "test_" + UUID.randomUUID().toString().replace('-', '_');
+    private final List<CacheInvalidationBus> buses = new ArrayList<>();
+
+    @AfterEach
+    void stopBuses() {
+        buses.forEach(CacheInvalidationBus::stop);
+    }
+
+    // Verifies that an eviction on one instance reaches a peer and is not applied back on the sender.
+    @Test
+    @DisplayName("Should deliver evictions to peers but not to the sender")
+    void should_deliverEvictionsToPeers_when_cacheIsEvicted() {
+        List<String> senderSeen = new ArrayList<>();
+        List<String> peerSeen = new ArrayList<>();
+        CacheInvalidationBus sender = bus(new LoopbackInvalidationTransport(channel), senderSeen::add);
+        bus(new LoopbackInvalidationTransport(channel), peerSeen::add);
+
+        sender.evict("userTasks", "alice");
+        sender.flush();
+
+        assertThat(peerSeen).containsExactly("alice");
+        assertThat(senderSeen).isEmpty();
+    }
+
+    // Ensures that repeated evictions of one key within the coalescing window go out as a single entry.
+    @Test
+    @DisplayName("Should coalesce repeated evictions into one batch")
+    void should_coalesceEvictions_when_sameKeyRepeats() {
+        List<InvalidationBatch> sent = new ArrayList<>();
+        CacheInvalidationBus sender = bus(recordingTransport(sent), key -> { });
+
+        sender.evict("userTasks", "alice");
+        sender.evict("userTasks", "alice");
+        sender.evict("userTasks", "bob");
+        sender.flush();
+
+        assertThat(sent).hasSize(1);
+        assertThat(sent.get(0).entries()).extracting(InvalidationBatch.Invalidation::key).containsExactly("alice", "bob");
+    }
+
+    // Verifies that a batch arriving after a later one from the same sender is ignored, and that the gap
+    // which made it late had already cleared the cache.
+    @Test
+    @DisplayName("Should clear on a sequence gap and ignore the late batch")
+    void should_clearAndIgnoreLateBatch_when_batchesArriveOutOfOrder() {
+        List<String> seen = new ArrayList<>();
+        CapturingTransport transport = new CapturingTransport();
+        bus(transport, seen::add);
+
+        transport.deliver(batch("peer", 1, "alice"));
+        transport.deliver(batch("peer", 3, "carol"));
+        transport.deliver(batch("peer", 2, "bob"));
+        transport.deliver(batch("peer", 3, "carol"));
+
+        // A null key is a full clear, applied instead of the entries of the batch that revealed the gap.
+        assertThat(seen).containsExactly("alice", null);
+    }
+
+    private CacheInvalidationBus bus(InvalidationTransport transport, Consumer<String> handler) {
+        AppProperties appProperties = new AppProperties();
+        // Long enough that the tests, not the timer, decide when to flush.
+        appProperties.getCacheBus().setCoalesceWindow(Duration.ofHours(1));
+        CacheInvalidationBus bus = new CacheInvalidationBus(transport, appProperties);
+        bus.register("userTasks", handler);
+        bus.start();
+        buses.add(bus);
+        return bus;
+    }
+
+    private static InvalidationBatch batch(String origin, long sequence, String key) {
+        return new InvalidationBatch(origin, sequence, List.of(new InvalidationBatch.Invalidation("userTasks", key)));
+    }
+
+    private static InvalidationTransport recordingTransport(List<InvalidationBatch> sent) {
+        return new CapturingTransport() {
+            @Override
+            public void send(InvalidationBatch batch) {
+                sent.add(batch);
+            }
+        };
+    }
+
+    private static class CapturingTransport implements InvalidationTransport {
+        private Consumer<InvalidationBatch> receiver;
+
+        void deliver(InvalidationBatch batch) {
+            receiver.accept(batch);
+        }
+
+        @Override
+        public void send(InvalidationBatch batch) {
+        }
+
+        @Override
+        public void start(Consumer<InvalidationBatch> receiver, Runnable onMissedMessages) {
+            this.receiver = receiver;
+        }
+
+        @Override
+        public void stop() {
+        }
+    }
+}
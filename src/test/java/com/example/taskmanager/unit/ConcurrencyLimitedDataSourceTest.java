@@ -0,0 +1,54 @@
+package com.example.taskmanager.unit;
+
+import com.example.taskmanager.datasource.ConcurrencyLimitedDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@Tag("Unit")
+@DisplayName("Unit Tests for ConcurrencyLimitedDataSource")
+class ConcurrencyLimitedDataSourceTest {
+
+    // Verifies that a connection beyond the limit times out and that closing one frees a permit exactly once.
+    @Test
+    @DisplayName("Should time out beyond the limit and release a permit once per connection")
+    void should_timeOutAndReleaseOnce_when_limitReached() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(20));
+
+        Connection first = dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        first.close();
+
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+        assertThat(dataSource.getConnection()).isNotNull();
+        assertThat(dataSource.availablePermits()).isZero();
+    }
+
+    // Ensures that a failure inside the pool does not leak the permit taken for it.
+    @Test
+    @DisplayName("Should return the permit when the pool fails to provide a connection")
+    void should_returnPermit_when_targetFails() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(20));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.taskmanager.unit;
+
+import com.example.taskmanager.importer.CsvTaskRecordReader;
+import com.example.taskmanager.importer.MalformedRecordException;
+import com.example.taskmanager.importer.TaskImportRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Tag("Unit")
+@DisplayName("Unit Tests for CsvTaskRecordReader")
+class CsvTaskRecordReaderTest {
+
+    // Verifies quoted fields with commas, doubled quotes and line breaks, and that line numbers follow the source.
+    @Test
+    @DisplayName("Should parse quoted fields and report the line each record starts on")
+    void should_parseQuotedFields_when_recordsSpanLines() throws Exception {
+        var reader = reader("title,username,description\r\n" +
+                "\"Plan, then build\",alice,\"Say \"\"hi\"\"\"\r\n" +
+                "\n" +
+                "Multi,bob,\"first\nsecond\"\n" +
+                "Last,carol,");
+
+        TaskImportRecord first = reader.next();
+        TaskImportRecord second = reader.next();
+        TaskImportRecord third = reader.next();
+
+        assertThat(first).isEqualTo(new TaskImportRecord(2, "alice", "Plan, then build", "Say \"hi\"", null));
+        assertThat(second).isEqualTo(new TaskImportRecord(4, "bob", "Multi", "first\nsecond", null));
+        assertThat(third).isEqualTo(new TaskImportRecord(6, "carol", "Last", null, null));
+        assertThat(reader.next()).isNull();
+    }
+
+    // Ensures that a bad row is reported with its line number and does not stop the rows after it.
+    @Test
+    @DisplayName("Should reject a row with too many fields and continue with the next one")
+    void should_rejectRowAndContinue_when_rowHasExtraFields() throws Exception {
+        var reader = reader("username,title\nalice,One,extra\nbob,Two\n");
+
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(MalformedRecordException.class)
+                .extracting("line").isEqualTo(2L);
+        assertThat(reader.next().title()).isEqualTo("Two");
+        assertThat(reader.next()).isNull();
+    }
+
+    private static CsvTaskRecordReader reader(String csv) {
+        return new CsvTaskRecordReader(new BufferedReader(new StringReader(csv)));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.taskmanager.unit;
+
+import com.example.taskmanager.cache.CacheInvalidationBus;
+import com.example.taskmanager.cache.EntityCache;
+import com.example.taskmanager.model.Task;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Tag("Unit")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit Tests for EntityCache")
+class EntityCacheTest {
+
+    private static final String TASK = Task.class.getName();
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private SessionFactoryImplementor sessionFactory;
+    @Mock
+    private ServiceRegistryImplementor serviceRegistry;
+    @Mock
+    private EventListenerRegistry eventListenerRegistry;
+    @Mock
+    private CacheImplementor cache;
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    private EntityCache entityCache;
+    private Consumer<String> peerHandler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getServiceRegistry()).thenReturn(serviceRegistry);
+        when(serviceRegistry.getService(EventListenerRegistry.class)).thenReturn(eventListenerRegistry);
+        lenient().when(sessionFactory.getCache()).thenReturn(cache);
+
+        entityCache = new EntityCache(entityManagerFactory, invalidationBus);
+
+        ArgumentCaptor<Consumer<String>> handler = ArgumentCaptor.forClass(Consumer.class);
+        verify(invalidationBus).register(eq(EntityCache.NAME), handler.capture());
+        peerHandler = handler.getValue();
+    }
+
+    // Verifies that a few rows changed by a bulk statement are evicted one by one, here and on the peers.
+    @Test
+    @DisplayName("Should evict and broadcast each row when few rows changed")
+    void should_evictEachRow_when_fewRowsChanged() {
+        entityCache.evict(Task.class, List.of(1L, 2L));
+
+        verify(cache).evictEntityData(Task.class, 1L);
+        verify(cache).evictEntityData(Task.class, 2L);
+        verify(cache).evictQueryRegions();
+        verify(invalidationBus).evict(EntityCache.NAME, TASK + "#1");
+        verify(invalidationBus).evict(EntityCache.NAME, TASK + "#2");
+    }
+
+    // Ensures that a large bulk change drops the whole region instead of flooding the bus.
+    @Test
+    @DisplayName("Should evict the whole entity region when many rows changed")
+    void should_evictWholeRegion_when_manyRowsChanged() {
+        entityCache.evict(Task.class, LongStream.rangeClosed(1, 500).boxed().toList());
+
+        verify(cache).evictEntityData(Task.class);
+        verify(cache, never()).evictEntityData(eq(Task.class), anyLong());
+        verify(invalidationBus).evict(EntityCache.NAME, TASK);
+        verifyNoMoreInteractions(invalidationBus);
+    }
+
+    // Verifies that a row changed on a peer is evicted together with natural ids and cached counts.
+    @Test
+    @DisplayName("Should evict the row, natural ids and queries when a peer changed a row")
+    void should_evictRowAndQueries_when_peerChangedRow() {
+        peerHandler.accept(TASK + "#7");
+
+        verify(cache).evictEntityData(TASK, 7L);
+        verify(cache).evictNaturalIdData(TASK);
+        verify(cache).evictQueryRegions();
+    }
+
+    // Ensures that rows inserted on a peer only invalidate cached query results.
+    @Test
+    @DisplayName("Should only evict queries when a peer inserted rows")
+    void should_onlyEvictQueries_when_peerInsertedRows() {
+        peerHandler.accept("new-rows");
+
+        verify(cache).evictQueryRegions();
+        verify(cache, never()).evictEntityData(anyString());
+        verify(cache, never()).evictEntityData(anyString(), any());
+    }
+
+    // Verifies that a clear request, or a key that cannot be read, empties every region.
+    @Test
+    @DisplayName("Should clear all regions when asked to or when the key is unreadable")
+    void should_clearAllRegions_when_peerClearsOrKeyIsUnreadable() {
+        peerHandler.accept(null);
+        peerHandler.accept(TASK + "#not-a-number");
+
+        verify(cache, times(2)).evictAllRegions();
+    }
+}
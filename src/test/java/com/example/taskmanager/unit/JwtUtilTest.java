@@ -0,0 +1,64 @@
+package com.example.taskmanager.unit;
+
+import com.example.taskmanager.model.Role;
+import com.example.taskmanager.model.User;
+import com.example.taskmanager.security.JwtPrincipal;
+import com.example.taskmanager.security.JwtUtil;
+import com.example.taskmanager.security.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("Unit")
+@DisplayName("Unit Tests for JwtUtil")
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(new VerifiedTokenCache(100));
+        ReflectionTestUtils.setField(jwtUtil, "secret", "0123456789abcdef0123456789abcdef0123456789abcdef");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60_000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+    }
+
+    // Verifies that a token is verified once and later lookups return the cached claims.
+    @Test
+    @DisplayName("Should reuse verified claims for a token seen before")
+    void should_returnCachedClaims_when_tokenIsVerifiedAgain() {
+        String token = jwtUtil.generateToken(user());
+
+        Claims first = jwtUtil.verify(token);
+        Claims second = jwtUtil.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(jwtUtil.toPrincipal(first)).contains(new JwtPrincipal(7L, "alice", "ROLE_USER", 2L));
+    }
+
+    // Ensures that a token with a modified signature is rejected rather than served from the cache.
+    @Test
+    @DisplayName("Should reject a tampered token")
+    void should_rejectToken_when_signatureIsTampered() {
+        String token = jwtUtil.generateToken(user());
+        jwtUtil.verify(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThat(jwtUtil.isTokenValid(tampered)).isFalse();
+        assertThat(jwtUtil.isTokenValid(token)).isTrue();
+    }
+
+    private static User user() {
+        var user = new User();
+        user.setId(7L);
+        user.setUsername("alice");
+        user.setRole(Role.USER);
+        user.setTokenVersion(2);
+        return user;
+    }
+}
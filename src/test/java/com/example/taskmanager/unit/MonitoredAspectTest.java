@@ -0,0 +1,76 @@
+package com.example.taskmanager.unit;
+
+import com.example.taskmanager.monitoring.Monitored;
+import com.example.taskmanager.monitoring.MonitoredAspect;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Tag("Unit")
+@DisplayName("Unit Tests for MonitoredAspect")
+class MonitoredAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SampleService service = proxy(new SampleService());
+
+    // Verifies that every public method of an annotated class is timed and tagged with its outcome.
+    @Test
+    @DisplayName("Should time successful and failing calls with outcome tags")
+    void should_timeCallsByOutcome_when_classIsMonitored() {
+        service.succeed();
+        assertThatThrownBy(service::fail).isInstanceOf(IllegalStateException.class);
+
+        assertThat(timerCount("succeed", "success", "none")).isEqualTo(1);
+        assertThat(timerCount("fail", "error", "IllegalStateException")).isEqualTo(1);
+    }
+
+    // Ensures that asynchronous results are recorded when they complete rather than when they are returned.
+    @Test
+    @DisplayName("Should record asynchronous calls on completion")
+    void should_recordOnCompletion_when_methodReturnsFuture() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        service.later(pending);
+        assertThat(meterRegistry.find(MonitoredAspect.TIMER_NAME).tag("method", "later").timer()).isNull();
+
+        pending.complete("done");
+        assertThat(timerCount("later", "success", "none")).isEqualTo(1);
+    }
+
+    private long timerCount(String method, String outcome, String exception) {
+        return meterRegistry.get(MonitoredAspect.TIMER_NAME)
+                .tags("service", "sample", "method", method, "outcome", outcome, "exception", exception)
+                .timer().count();
+    }
+
+    private SampleService proxy(SampleService target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new MonitoredAspect(meterRegistry));
+        return factory.getProxy();
+    }
+
+    @Monitored("sample")
+    static class SampleService {
+
+        public String succeed() {
+            return "ok";
+        }
+
+        public void fail() {
+            throw new IllegalStateException("boom");
+        }
+
+        public CompletableFuture<String> later(CompletableFuture<String> future) {
+            return future;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.taskmanager.unit;
+
+import com.example.taskmanager.datasource.ReadReplicaRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("Unit")
+@DisplayName("Unit Tests for ReadReplicaRoutingDataSource")
+class ReadReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = database("primary");
+    private final DataSource replica = database("replica");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(new LazyConnectionDataSourceProxy(
+            new ReadReplicaRoutingDataSource(primary, replica, Duration.ofMinutes(1))));
+    private final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(jdbcTemplate.getDataSource());
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // Verifies that read-only transactions are served by the replica and read-write ones by the primary.
+    @Test
+    @DisplayName("Should route read-only transactions to the replica")
+    void should_routeByReadOnlyFlag_when_inTransaction() {
+        assertThat(inTransaction(true)).isEqualTo("replica");
+        assertThat(inTransaction(false)).isEqualTo("primary");
+    }
+
+    // Ensures a user reads their own writes from the primary while other users keep using the replica.
+    @Test
+    @DisplayName("Should keep a user's reads on the primary after that user writes")
+    void should_readFromPrimary_when_userWroteRecently() {
+        authenticate("alice");
+        inTransaction(false);
+        assertThat(inTransaction(true)).isEqualTo("primary");
+
+        authenticate("bob");
+        assertThat(inTransaction(true)).isEqualTo("replica");
+    }
+
+    private String inTransaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE marker (name VARCHAR(20))");
+        setup.update("INSERT INTO marker (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.taskmanager.unit;
+
+import com.example.taskmanager.dto.StatisticsDto;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.projection.BucketCount;
+import com.example.taskmanager.service.StatisticsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@Tag("Unit")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit Tests for StatisticsService")
+class StatisticsServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private StatisticsService statisticsService;
+
+    // Verifies that every status and role bucket from the grouped query ends up in the DTO, with derived totals.
+    @Test
+    @DisplayName("Should fold grouped counts into statistics with totals")
+    void should_foldGroupedCounts_when_bucketsAreReturned() {
+        when(taskRepository.countTasksByStatusAndUsersByRole()).thenReturn(List.of(
+                bucket("TASK", "PENDING", 4),
+                bucket("TASK", "IN_PROGRESS", 3),
+                bucket("TASK", "COMPLETED", 2),
+                bucket("TASK", "CANCELLED", 1),
+                bucket("USER", "USER", 7),
+                bucket("USER", "ADMIN", 2)));
+
+        StatisticsDto stats = statisticsService.getStatistics();
+
+        assertThat(stats.getTotalTasks()).isEqualTo(10);
+        assertThat(stats.getPendingTasks()).isEqualTo(4);
+        assertThat(stats.getInProgressTasks()).isEqualTo(3);
+        assertThat(stats.getCompletedTasks()).isEqualTo(2);
+        assertThat(stats.getCancelledTasks()).isEqualTo(1);
+        assertThat(stats.getTotalUsers()).isEqualTo(9);
+        assertThat(stats.getAdminUsers()).isEqualTo(2);
+        assertThat(stats.getRegularUsers()).isEqualTo(7);
+        verify(taskRepository, times(1)).countTasksByStatusAndUsersByRole();
+    }
+
+    // Ensures that statuses with no tasks are reported as zero rather than missing.
+    @Test
+    @DisplayName("Should report zero for buckets absent from the query result")
+    void should_reportZero_when_bucketIsMissing() {
+        when(taskRepository.countTasksByStatusAndUsersByRole()).thenReturn(List.of(bucket("USER", "ADMIN", 1)));
+
+        StatisticsDto stats = statisticsService.getStatistics();
+
+        assertThat(stats.getTotalTasks()).isZero();
+        assertThat(stats.getCancelledTasks()).isZero();
+        assertThat(stats.getRegularUsers()).isZero();
+        assertThat(stats.getTotalUsers()).isEqualTo(1);
+    }
+
+    private static BucketCount bucket(String kind, String bucket, long total) {
+        return new BucketCount() {
+            public String getKind() { return kind; }
+            public String getBucket() { return bucket; }
+            public long getTotal() { return total; }
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.taskmanager.unit;
+
+import com.example.taskmanager.config.AppProperties;
+import com.example.taskmanager.dto.TaskChangeFeed;
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.event.TaskChangedEvent.ChangeType;
+import com.example.taskmanager.model.TaskChange;
+import com.example.taskmanager.model.TaskStatus;
+import com.example.taskmanager.model.User;
+import com.example.taskmanager.repository.TaskChangeRepository;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.service.IUserService;
+import com.example.taskmanager.service.TaskChangeFeedService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Tag("Unit")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit Tests for TaskChangeFeedService")
+class TaskChangeFeedServiceTest {
+
+    @Mock
+    private TaskChangeRepository taskChangeRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private IUserService userService;
+
+    @Spy
+    private AppProperties appProperties = new AppProperties();
+
+    @InjectMocks
+    private TaskChangeFeedService taskChangeFeedService;
+
+    private final LocalDateTime longAgo = LocalDateTime.now().minusMinutes(5);
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(1L);
+        when(userService.findByUsername("alice")).thenReturn(user);
+    }
+
+    // Verifies that live tasks come back in their current state, deleted ones as tombstones, and that the
+    // position advances to the last entry.
+    @Test
+    @DisplayName("Should return current tasks and tombstones and advance to the last entry")
+    void should_returnChangesAndTombstones_when_entriesAreSettled() {
+        when(taskChangeRepository.findLatestByUserIdSince(eq(1L), eq(10L), any()))
+                .thenReturn(List.of(change(11L, 100L, ChangeType.UPDATED, longAgo), change(12L, 200L, ChangeType.DELETED, longAgo)));
+        TaskDto task = new TaskDto(100L, "Title", null, TaskStatus.PENDING, 1L, longAgo);
+        when(taskRepository.findDtosByIdIn(List.of(100L))).thenReturn(List.of(task));
+
+        TaskChangeFeed feed = taskChangeFeedService.getChanges("alice", 10L, null);
+
+        assertThat(feed.getChanged()).containsExactly(task);
+        assertThat(feed.getDeleted()).containsExactly(200L);
+        assertThat(feed.getNext()).isEqualTo(12L);
+        assertThat(feed.isMore()).isFalse();
+        assertThat(feed.isReset()).isFalse();
+    }
+
+    // Ensures the position stops before an entry that may still have lower-numbered commits landing behind it.
+    @Test
+    @DisplayName("Should not advance past entries younger than the settle window")
+    void should_holdPosition_when_entryIsNotSettled() {
+        when(taskChangeRepository.findLatestByUserIdSince(eq(1L), eq(10L), any()))
+                .thenReturn(List.of(change(11L, 100L, ChangeType.DELETED, longAgo),
+                        change(12L, 200L, ChangeType.DELETED, LocalDateTime.now())));
+
+        TaskChangeFeed feed = taskChangeFeedService.getChanges("alice", 10L, null);
+
+        assertThat(feed.getDeleted()).containsExactly(100L, 200L);
+        assertThat(feed.getNext()).isEqualTo(11L);
+        verifyNoInteractions(taskRepository);
+    }
+
+    // Verifies that a client behind the compaction horizon is told to reload instead of missing tombstones.
+    @Test
+    @DisplayName("Should request a reset when since is behind the compaction horizon")
+    void should_requestReset_when_sinceIsBehindHorizon() {
+        when(taskChangeRepository.findHorizon()).thenReturn(50L);
+        when(taskChangeRepository.findSettledHead(any())).thenReturn(80L);
+
+        TaskChangeFeed feed = taskChangeFeedService.getChanges("alice", 10L, null);
+
+        assertThat(feed.isReset()).isTrue();
+        assertThat(feed.getNext()).isEqualTo(80L);
+        verify(taskChangeRepository, never()).findLatestByUserIdSince(anyLong(), anyLong(), any());
+    }
+
+    private static TaskChange change(Long seq, Long taskId, ChangeType type, LocalDateTime changedAt) {
+        return new TaskChange(seq, taskId, 1L, type, changedAt);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.taskmanager.unit;
+
+import com.example.taskmanager.cache.CacheInvalidationBus;
+import com.example.taskmanager.config.AppProperties;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.model.TaskStatus;
+import com.example.taskmanager.stream.TaskEventHub;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@Tag("Unit")
+@DisplayName("Unit Tests for TaskEventHub")
+class TaskEventHubTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)");
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    private final TaskEventHub hub = new TaskEventHub(new AppProperties(), mock(CacheInvalidationBus.class)) {
+        @Override
+        protected SseEmitter createEmitter(long timeoutMillis) {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            return emitter;
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        hub.destroy();
+    }
+
+    // Verifies that a committed change reaches only the owner's subscribers, named after the change type.
+    @Test
+    @DisplayName("Should push a change to the owner's stream only")
+    void should_pushChangeToOwner_when_taskChanges() throws InterruptedException {
+        hub.subscribe(1L, null);
+        hub.subscribe(2L, null);
+        RecordingEmitter owner = emitters.get(0);
+        RecordingEmitter other = emitters.get(1);
+
+        hub.onTaskChanged(event(TaskChangedEvent.ChangeType.CREATED, 10L, 1L));
+
+        assertThat(owner.next()).contains(":connected");
+        assertThat(owner.next()).contains("event:created");
+        assertThat(other.next()).contains(":connected");
+        assertThat(other.events.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    // Ensures that a reconnect with Last-Event-ID receives exactly the events it missed.
+    @Test
+    @DisplayName("Should replay only the events after Last-Event-ID")
+    void should_replayMissedEvents_when_resumingWithLastEventId() throws InterruptedException {
+        hub.subscribe(1L, null);
+        RecordingEmitter first = emitters.get(0);
+        hub.onTaskChanged(event(TaskChangedEvent.ChangeType.CREATED, 10L, 1L));
+        first.next();
+        String lastEventId = eventId(first.next());
+        hub.onTaskChanged(event(TaskChangedEvent.ChangeType.UPDATED, 10L, 1L));
+        hub.onTaskChanged(event(TaskChangedEvent.ChangeType.DELETED, 10L, 1L));
+
+        hub.subscribe(1L, lastEventId);
+        RecordingEmitter resumed = emitters.get(1);
+
+        assertThat(resumed.next()).contains("event:updated");
+        assertThat(resumed.next()).contains("event:deleted");
+        assertThat(resumed.next()).contains(":connected");
+    }
+
+    // Verifies that an id this instance did not issue makes the client start over instead of missing events.
+    @Test
+    @DisplayName("Should send reset when Last-Event-ID cannot be resumed")
+    void should_sendReset_when_lastEventIdIsUnknown() throws InterruptedException {
+        hub.subscribe(1L, "deadbeef:42");
+
+        assertThat(emitters.get(0).next()).contains("event:" + TaskEventHub.RESET);
+    }
+
+    private static TaskChangedEvent event(TaskChangedEvent.ChangeType type, Long taskId, Long userId) {
+        return new TaskChangedEvent(type, taskId, userId, "Title", "Description", TaskStatus.PENDING, LocalDateTime.now());
+    }
+
+    private static String eventId(String event) {
+        Matcher matcher = EVENT_ID.matcher(event);
+        assertThat(matcher.find()).isTrue();
+        return matcher.group(1);
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .map(String::valueOf)
+                    .collect(Collectors.joining()));
+        }
+
+        String next() throws InterruptedException {
+            String event = events.poll(1, TimeUnit.SECONDS);
+            assertThat(event).as("event within 1s").isNotNull();
+            return event;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.taskmanager.unit;
+
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.model.TaskStatus;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.service.TaskExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@Tag("Unit")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit Tests for TaskExportService")
+class TaskExportServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private TaskExportService taskExportService;
+
+    @BeforeEach
+    void setUp() {
+        taskExportService = new TaskExportService(taskRepository, objectMapper);
+    }
+
+    // Verifies that each task becomes exactly one JSON line and that the database cursor is closed afterwards.
+    @Test
+    @DisplayName("Should write one JSON object per line and close the task stream")
+    void should_writeOneLinePerTask_when_exporting() throws Exception {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(taskRepository.streamAllForExport()).thenReturn(Stream.of(
+                new TaskDto(1L, "First", null, TaskStatus.PENDING, 7L, createdAt),
+                new TaskDto(2L, "Second", "Details", TaskStatus.COMPLETED, 8L, createdAt))
+                .onClose(() -> closed.set(true)));
+        var out = new ByteArrayOutputStream();
+
+        long count = taskExportService.exportTasks(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], TaskDto.class).getTitle()).isEqualTo("First");
+        assertThat(objectMapper.readValue(lines[1], TaskDto.class).getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(out.toString(StandardCharsets.UTF_8)).endsWith("}\n");
+        assertThat(closed).isTrue();
+    }
+}
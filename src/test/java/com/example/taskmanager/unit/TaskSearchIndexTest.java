@@ -0,0 +1,131 @@
+package com.example.taskmanager.unit;
+
+import com.example.taskmanager.cache.CacheInvalidationBus;
+import com.example.taskmanager.config.AppProperties;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.event.TaskChangedEvent.ChangeType;
+import com.example.taskmanager.model.TaskStatus;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.projection.TaskTitleView;
+import com.example.taskmanager.search.TaskSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Tag("Unit")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit Tests for TaskSearchIndex")
+class TaskSearchIndexTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    private TaskSearchIndex index;
+    private Consumer<String> peerHandler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        index = new TaskSearchIndex(taskRepository, new AppProperties(), invalidationBus,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+        ArgumentCaptor<Consumer<String>> handler = ArgumentCaptor.forClass(Consumer.class);
+        verify(invalidationBus).register(eq(TaskSearchIndex.NAME), handler.capture());
+        peerHandler = handler.getValue();
+    }
+
+    // Ensures that callers are told to fall back to the database until the index has been built.
+    @Test
+    @DisplayName("Should report no result until the index is built")
+    void should_returnEmpty_when_indexNotBuilt() {
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.search(1L, "wash", 10)).isEmpty();
+    }
+
+    // Verifies case-insensitive substring matching, ranking and isolation between users.
+    @Test
+    @DisplayName("Should rank exact, prefix, word and inner matches of the user's own tasks")
+    void should_rankMatches_when_queryingBuiltIndex() {
+        when(taskRepository.streamTitles()).thenReturn(Stream.of(
+                view(1L, 1L, "Learn Spring Boot", T0),
+                view(2L, 1L, "Spring", T0.plusMinutes(1)),
+                view(3L, 1L, "springtime cleaning", T0.plusMinutes(2)),
+                view(4L, 1L, "Wash the dishes", T0.plusMinutes(3)),
+                view(5L, 1L, "Offspring party", T0.plusMinutes(4)),
+                view(6L, 2L, "Spring for someone else", T0.plusMinutes(5))));
+        index.rebuild();
+
+        assertThat(index.search(1L, "SPRING", 10)).contains(List.of(2L, 3L, 1L, 5L));
+        assertThat(index.search(1L, "spring", 2)).contains(List.of(2L, 3L));
+        assertThat(index.search(1L, "dish", 10)).contains(List.of(4L));
+        assertThat(index.search(1L, "sp", 10)).contains(List.of(3L, 2L, 1L, 5L));
+        assertThat(index.search(1L, "garden", 10)).contains(List.of());
+    }
+
+    // Verifies that committed changes are reflected without a rebuild.
+    @Test
+    @DisplayName("Should apply created, renamed and deleted tasks incrementally")
+    void should_updateIncrementally_when_tasksChange() {
+        when(taskRepository.streamTitles()).thenReturn(Stream.of(view(1L, 1L, "Buy milk", T0)));
+        index.rebuild();
+
+        index.onTaskChanged(event(ChangeType.CREATED, 2L, "Buy bread"));
+        index.onTaskChanged(event(ChangeType.UPDATED, 1L, "Sell milk"));
+        assertThat(index.search(1L, "buy", 10)).contains(List.of(2L));
+        assertThat(index.search(1L, "milk", 10)).contains(List.of(1L));
+
+        index.onTaskChanged(event(ChangeType.DELETED, 2L, "Buy bread"));
+        assertThat(index.search(1L, "buy", 10)).contains(List.of());
+        verify(invalidationBus, times(3)).evictCommitted(TaskSearchIndex.NAME, 1L);
+    }
+
+    // Verifies that a change committed on another instance replaces the owner's titles with the stored ones.
+    @Test
+    @DisplayName("Should reload the user's titles when a peer changed their tasks")
+    void should_reloadUserTitles_when_peerChangedTasks() throws InterruptedException {
+        when(taskRepository.streamTitles()).thenReturn(Stream.of(
+                view(1L, 1L, "Buy milk", T0),
+                view(2L, 2L, "Buy paint", T0)));
+        index.rebuild();
+        when(taskRepository.findTitlesByUserId(1L)).thenReturn(List.of(view(3L, 1L, "Buy bread", T0)));
+
+        peerHandler.accept("1");
+        index.stopReloads();
+
+        assertThat(index.search(1L, "buy", 10)).contains(List.of(3L));
+        assertThat(index.search(2L, "buy", 10)).contains(List.of(2L));
+    }
+
+    private static TaskChangedEvent event(ChangeType type, Long taskId, String title) {
+        return new TaskChangedEvent(type, taskId, 1L, title, null, TaskStatus.PENDING, T0.plusHours(1));
+    }
+
+    private static TaskTitleView view(Long id, Long userId, String title, LocalDateTime createdAt) {
+        return new TaskTitleView() {
+            public Long getId() { return id; }
+            public Long getUserId() { return userId; }
+            public String getTitle() { return title; }
+            public LocalDateTime getCreatedAt() { return createdAt; }
+        };
+    }
+}
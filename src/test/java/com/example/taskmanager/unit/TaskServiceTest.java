@@ -1,14 +1,25 @@
 package com.example.taskmanager.unit;
 
+import com.example.taskmanager.audit.AuditLog;
+import com.example.taskmanager.cache.EntityCache;
+import com.example.taskmanager.dto.CursorPage;
+import com.example.taskmanager.dto.TaskBatchUpdateDto;
 import com.example.taskmanager.dto.TaskCreateDto;
+import com.example.taskmanager.dto.TaskDto;
 import com.example.taskmanager.dto.TaskUpdateDto;
+import com.example.taskmanager.exception.InvalidCursorException;
+import com.example.taskmanager.exception.UnauthorizedAccessException;
 import com.example.taskmanager.exception.TaskNotFoundException; 
 import com.example.taskmanager.model.Task;
 import com.example.taskmanager.model.TaskStatus;
 import com.example.taskmanager.model.User;
 import com.example.taskmanager.model.Role;
+import com.example.taskmanager.repository.TaskBatchWriter;
 import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.search.TaskSearchIndex;
+import com.example.taskmanager.service.ITaskCounterService;
 import com.example.taskmanager.service.IUserService;
+import com.example.taskmanager.service.TaskCursor;
 import com.example.taskmanager.service.TaskService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
@@ -19,14 +30,19 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 // Using AssertJ for more readable and flexible assertions
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @Tag("Unit")
@@ -36,7 +52,19 @@ class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
     @Mock
+    private TaskBatchWriter taskBatchWriter;
+    @Mock
     private IUserService userService;
+    @Mock
+    private ITaskCounterService taskCounterService;
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private AuditLog auditLog;
+    @Mock
+    private EntityCache entityCache;
 
     @InjectMocks
     private TaskService taskService;
@@ -189,4 +217,162 @@ class TaskServiceTest {
 
         verify(taskRepository, never()).delete(any(Task.class));
     }
-}
\ No newline at end of file
+
+    // Verifies that the per-user status counters follow create, status change and delete.
+    @Test
+    @DisplayName("Should keep the owner's status counters in step with task changes")
+    void should_adjustStatusCounters_when_tasksChange() {
+        var owner = new User();
+        owner.setId(7L);
+        owner.setUsername("owner");
+        var createDto = new TaskCreateDto();
+        createDto.setTitle("Counted task");
+        var task = new Task();
+        task.setId(5L);
+        task.setUser(owner);
+        task.setStatus(TaskStatus.PENDING);
+        var updateDto = new TaskUpdateDto();
+        updateDto.setStatus("IN_PROGRESS");
+
+        when(userService.findByUsername("owner")).thenReturn(owner);
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(taskRepository.findById(5L)).thenReturn(Optional.of(task));
+
+        taskService.createTask(createDto, "owner");
+        taskService.updateTask(5L, updateDto, "owner");
+        taskService.deleteTask(5L, "owner");
+
+        verify(taskCounterService).adjust(7L, TaskStatus.PENDING, 1);
+        verify(taskCounterService).move(7L, TaskStatus.PENDING, TaskStatus.IN_PROGRESS);
+        verify(taskCounterService).adjust(7L, TaskStatus.IN_PROGRESS, -1);
+    }
+
+    // Verifies that the cacheable task list is built from DTOs and cannot be modified by whoever receives it.
+    @Test
+    @DisplayName("Should return an unmodifiable DTO list for the task cache")
+    void should_returnUnmodifiableDtoList_when_loadingCachedTasks() {
+        var user = new User();
+        user.setId(1L);
+        var dto = dtoCreatedAt(10L, LocalDateTime.of(2025, 1, 1, 12, 0));
+
+        when(userService.findByUsername("user1")).thenReturn(user);
+        when(taskRepository.findDtosByUserId(1L)).thenReturn(new ArrayList<>(List.of(dto)));
+
+        List<TaskDto> result = taskService.findUserTasksCached("user1");
+
+        assertThat(result).containsExactly(dto);
+        assertThatThrownBy(() -> result.add(dto)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    // Verifies that search results come back in the order ranked by the title index.
+    @Test
+    @DisplayName("Should return search results in index ranking order")
+    void should_returnTasksInIndexOrder_when_indexIsReady() {
+        var user = new User();
+        user.setId(1L);
+        var first = dtoCreatedAt(10L, LocalDateTime.of(2025, 1, 1, 12, 0));
+        var second = dtoCreatedAt(20L, LocalDateTime.of(2025, 1, 1, 13, 0));
+
+        when(userService.findByUsername("user1")).thenReturn(user);
+        when(taskSearchIndex.search(1L, "spring", 5)).thenReturn(Optional.of(List.of(20L, 10L)));
+        when(taskRepository.findDtosByIdIn(List.of(20L, 10L))).thenReturn(List.of(first, second));
+
+        List<TaskDto> result = taskService.searchUserTasks("user1", "spring", 5);
+
+        assertThat(result).containsExactly(second, first);
+        verify(taskRepository, never()).findDtosByUserIdAndTitleContaining(any(), any(), any());
+    }
+
+    // Verifies that a batch resolves the owner once, writes through the batch writer and counts all tasks at once.
+    @Test
+    @DisplayName("Should create a batch of tasks with one user lookup and one counter update")
+    void should_createAllTasks_when_batchIsValid() {
+        var user = new User();
+        user.setId(1L);
+        var first = new TaskCreateDto();
+        first.setTitle("First");
+        var second = new TaskCreateDto();
+        second.setTitle("Second");
+
+        when(userService.findByUsername("user1")).thenReturn(user);
+
+        List<Task> created = taskService.createTasks(List.of(first, second), "user1");
+
+        assertThat(created).extracting(Task::getTitle).containsExactly("First", "Second");
+        assertThat(created).allSatisfy(task -> assertThat(task.getUser()).isEqualTo(user));
+        verify(userService, times(1)).findByUsername("user1");
+        verify(taskBatchWriter).persistAll(created);
+        verify(taskCounterService).adjust(1L, TaskStatus.PENDING, 2);
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    // Ensures that one inaccessible task rejects the whole batch before anything is written.
+    @Test
+    @DisplayName("Should reject the whole batch update when one task belongs to another user")
+    void should_rejectBatchUpdate_when_anyTaskIsNotAccessible() {
+        var owner = new User();
+        owner.setId(1L);
+        var other = new User();
+        other.setId(2L);
+        var own = new Task();
+        own.setId(10L);
+        own.setUser(owner);
+        var foreign = new Task();
+        foreign.setId(20L);
+        foreign.setUser(other);
+        var ownUpdate = new TaskBatchUpdateDto();
+        ownUpdate.setId(10L);
+        ownUpdate.setStatus("COMPLETED");
+        var foreignUpdate = new TaskBatchUpdateDto();
+        foreignUpdate.setId(20L);
+        foreignUpdate.setStatus("COMPLETED");
+
+        when(userService.findByUsername("owner")).thenReturn(owner);
+        when(taskRepository.findAllById(Set.of(10L, 20L))).thenReturn(List.of(own, foreign));
+
+        assertThatThrownBy(() -> taskService.updateTasks(List.of(ownUpdate, foreignUpdate), "owner"))
+                .isInstanceOf(UnauthorizedAccessException.class);
+
+        verifyNoInteractions(taskBatchWriter, taskCounterService);
+    }
+
+    // Verifies that a full page carries a cursor pointing at its last row and that the cursor resumes after it.
+    @Test
+    @DisplayName("Should return a next cursor when more tasks exist and resume after it")
+    void should_returnNextCursor_when_moreTasksExist() {
+        var user = new User();
+        user.setId(1L);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        var newest = dtoCreatedAt(3L, now);
+        var middle = dtoCreatedAt(2L, now.minusMinutes(1));
+        var oldest = dtoCreatedAt(1L, now.minusMinutes(2));
+
+        when(userService.findByUsername("user1")).thenReturn(user);
+        when(taskRepository.findDtoPageByUserId(eq(1L), any())).thenReturn(List.of(newest, middle, oldest));
+        when(taskRepository.findDtoPageByUserIdAfter(eq(1L), eq(middle.getCreatedAt()), eq(2L), any()))
+                .thenReturn(List.of(oldest));
+
+        CursorPage<TaskDto> first = taskService.findUserTasksPage("user1", null, 2);
+        CursorPage<TaskDto> second = taskService.findUserTasksPage("user1", first.getNext(), 2);
+
+        assertThat(first.getItems()).containsExactly(newest, middle);
+        assertThat(TaskCursor.decode(first.getNext())).isEqualTo(new TaskCursor(middle.getCreatedAt(), 2L));
+        assertThat(second.getItems()).containsExactly(oldest);
+        assertThat(second.getNext()).isNull();
+        verify(taskRepository, never()).findAll();
+    }
+
+    // Ensures that a tampered cursor is rejected before any query is run.
+    @Test
+    @DisplayName("Should throw InvalidCursorException for a malformed cursor")
+    void should_throwInvalidCursorException_when_cursorIsMalformed() {
+        assertThatThrownBy(() -> taskService.findAllTasksPage("not-a-cursor", 10))
+                .isInstanceOf(InvalidCursorException.class);
+
+        verifyNoInteractions(taskRepository);
+    }
+
+    private static TaskDto dtoCreatedAt(Long id, LocalDateTime createdAt) {
+        return new TaskDto(id, "Task " + id, null, TaskStatus.PENDING, 1L, createdAt);
+    }
+}
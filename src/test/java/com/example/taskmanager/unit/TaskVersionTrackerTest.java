@@ -0,0 +1,78 @@
+package com.example.taskmanager.unit;
+
+import com.example.taskmanager.cache.CacheInvalidationBus;
+import com.example.taskmanager.config.AppProperties;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.model.TaskStatus;
+import com.example.taskmanager.service.TaskVersionTracker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@Tag("Unit")
+@DisplayName("Unit Tests for TaskVersionTracker")
+class TaskVersionTrackerTest {
+
+    private final TaskVersionTracker tracker = new TaskVersionTracker(mock(CacheInvalidationBus.class), new AppProperties());
+
+    // Verifies that a change moves the owner's and the global tags but leaves other users' tags alone.
+    @Test
+    @DisplayName("Should change the owner's and global tags when a task changes")
+    void should_changeOwnerAndGlobalTags_when_taskChanges() {
+        String ownerBefore = tracker.userTasksTag(1L);
+        String otherBefore = tracker.userTasksTag(2L);
+        String allBefore = tracker.allTasksTag();
+
+        tracker.onTaskChanged(event(10L, 1L));
+
+        assertThat(tracker.userTasksTag(1L)).isNotEqualTo(ownerBefore);
+        assertThat(tracker.userTasksTag(2L)).isEqualTo(otherBefore);
+        assertThat(tracker.allTasksTag()).isNotEqualTo(allBefore);
+    }
+
+    // Ensures that a single-task tag sent back by a client is re-derived from the owner's current version.
+    @Test
+    @DisplayName("Should recompute a task tag from If-None-Match and notice owner changes")
+    void should_recomputeTaskTag_when_clientSendsOne() {
+        String issued = tracker.taskTag(10L, 1L);
+
+        assertThat(tracker.currentTaskTag(10L, "\"other\", " + issued)).contains(issued);
+        assertThat(tracker.currentTaskTag(11L, issued)).isEmpty();
+
+        tracker.onTaskChanged(event(12L, 1L));
+
+        assertThat(tracker.currentTaskTag(10L, issued)).isPresent().get().isNotEqualTo(issued);
+    }
+
+    // Ensures that no tag is issued while a change may still be missing from the read replica.
+    @Test
+    @DisplayName("Should report recently changed data as unsettled when reads may go to a replica")
+    void should_reportUnsettled_when_changeIsWithinReplicaWindow() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getReplica().setEnabled(true);
+        appProperties.getReplica().setReadYourWritesWindow(Duration.ofMinutes(1));
+        TaskVersionTracker withReplica = new TaskVersionTracker(mock(CacheInvalidationBus.class), appProperties);
+        assertThat(withReplica.isUserSettled(1L)).isTrue();
+        assertThat(withReplica.isAllSettled()).isTrue();
+
+        withReplica.onTaskChanged(event(10L, 1L));
+        tracker.onTaskChanged(event(10L, 1L));
+
+        assertThat(withReplica.isUserSettled(1L)).isFalse();
+        assertThat(withReplica.isUserSettled(2L)).isTrue();
+        assertThat(withReplica.isAllSettled()).isFalse();
+        assertThat(tracker.isUserSettled(1L)).isTrue();
+        assertThat(tracker.isAllSettled()).isTrue();
+    }
+
+    private static TaskChangedEvent event(Long taskId, Long userId) {
+        return new TaskChangedEvent(TaskChangedEvent.ChangeType.UPDATED, taskId, userId, "Title", null,
+                TaskStatus.PENDING, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.taskmanager.unit;
+
+import com.example.taskmanager.cache.CacheInvalidationBus;
+import com.example.taskmanager.repository.TokenRevocationRepository;
+import com.example.taskmanager.security.TokenRevocationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.verify;
+
+@Tag("Unit")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit Tests for TokenRevocationRegistry")
+class TokenRevocationRegistryTest {
+
+    @Mock
+    private TokenRevocationRepository tokenRevocationRepository;
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    private TokenRevocationRegistry registry;
+    private Consumer<String> peerHandler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        registry = new TokenRevocationRegistry(tokenRevocationRepository, invalidationBus);
+        ReflectionTestUtils.setField(registry, "expiration", 86_400_000L);
+
+        ArgumentCaptor<Consumer<String>> handler = ArgumentCaptor.forClass(Consumer.class);
+        verify(invalidationBus).register(eq(TokenRevocationRegistry.NAME), handler.capture());
+        peerHandler = handler.getValue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // Ensures that a revocation whose transaction rolls back never refuses the user's tokens.
+    @Test
+    @DisplayName("Should refuse older tokens only after the revoking transaction commits")
+    void should_revokeOnlyAfterCommit_when_revokingInTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        registry.revokeBelow(1L, 4);
+
+        assertThat(registry.isRevoked(1L, 3)).isFalse();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertThat(registry.isRevoked(1L, 3)).isTrue();
+        assertThat(registry.isRevoked(1L, 4)).isFalse();
+        verify(invalidationBus).evict(eq(TokenRevocationRegistry.NAME), startsWith("1:4:"));
+    }
+
+    // Verifies that a revocation broadcast by another instance applies without waiting for the reload.
+    @Test
+    @DisplayName("Should refuse older tokens when a peer revoked them")
+    void should_revoke_when_peerRevoked() {
+        peerHandler.accept("7:2:" + LocalDateTime.now().plusHours(1));
+
+        assertThat(registry.isRevoked(7L, 1)).isTrue();
+        assertThat(registry.isRevoked(7L, 2)).isFalse();
+        assertThat(registry.isRevoked(8L, 1)).isFalse();
+    }
+}
@@ -1,11 +1,17 @@
 package com.example.taskmanager.unit;
 
+import com.example.taskmanager.audit.AuditLog;
+import com.example.taskmanager.cache.CacheInvalidationBus;
+import com.example.taskmanager.config.AppProperties;
 import com.example.taskmanager.dto.UserRegistrationDto;
 import com.example.taskmanager.exception.UserAlreadyExistsException;
 import com.example.taskmanager.exception.UserNotFoundException;
 import com.example.taskmanager.model.Role;
 import com.example.taskmanager.model.User;
 import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.security.TokenRevocationRegistry;
+import com.example.taskmanager.service.ITaskCounterService;
+import com.example.taskmanager.service.UserCache;
 import com.example.taskmanager.service.UserService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
@@ -15,8 +21,12 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Optional;
 
@@ -36,6 +46,25 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ITaskCounterService taskCounterService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TokenRevocationRegistry tokenRevocations;
+
+    @Mock
+    private AuditLog auditLog;
+
+    @Spy
+    private UserCache userCache = new UserCache(new AppProperties(), mock(CacheInvalidationBus.class));
+
+    // Runs the callbacks against a transaction manager that does nothing.
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private UserService userService;
 
@@ -62,6 +91,22 @@ class UserServiceTest {
         assertThat(capturedUser.getRole()).isEqualTo(Role.USER);
     }
 
+    // Ensures that the password is hashed outside any transaction, so waiting for the hashing pool holds no connection.
+    @Test
+    @DisplayName("Should hash the password between the availability check and the insert transaction")
+    void should_hashPasswordOutsideTransaction_when_registering() {
+        var dto = new UserRegistrationDto("newuser", "password123", "password123");
+        when(passwordEncoder.encode("password123")).thenReturn("encoded_password");
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        userService.registerUser(dto);
+
+        var inOrder = inOrder(transactionTemplate, passwordEncoder);
+        inOrder.verify(transactionTemplate).executeWithoutResult(any());
+        inOrder.verify(passwordEncoder).encode("password123");
+        inOrder.verify(transactionTemplate).execute(any());
+    }
+
     // Ensures that an exception is thrown if a user tries to register with an existing username.
     @Test
     @DisplayName("Should throw UserAlreadyExistsException if username is already taken")
@@ -92,6 +137,26 @@ class UserServiceTest {
         assertThat(foundUser.getUsername()).isEqualTo("testuser");
     }
 
+    // Verifies that repeated lookups are served from the cache and that a role change forces a reload.
+    @Test
+    @DisplayName("Should cache users by username and reload after a role update")
+    void should_serveFromCache_until_roleIsUpdated() {
+        var existingUser = new User();
+        existingUser.setId(1L);
+        existingUser.setUsername("testuser");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(existingUser));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
+        when(userRepository.save(existingUser)).thenReturn(existingUser);
+
+        userService.findByUsername("testuser");
+        userService.findByUsername("testuser");
+        userService.updateUserRole(1L, Role.ADMIN);
+        User reloaded = userService.findByUsername("testuser");
+
+        assertThat(reloaded.getRole()).isEqualTo(Role.ADMIN);
+        verify(userRepository, times(2)).findByUsername("testuser");
+    }
+
     // Verifies that an exception is thrown when searching for a non-existent user.
     @Test
     @DisplayName("Should throw UserNotFoundException when user is not found by username")
@@ -122,6 +187,22 @@ class UserServiceTest {
         assertThat(capturedUser.getRole()).isEqualTo(Role.ADMIN); // Also check the captured object
     }
 
+    // Verifies that a role change moves the token version forward and revokes tokens issued before it.
+    @Test
+    @DisplayName("Should bump the token version and revoke older tokens when the role changes")
+    void should_revokeOlderTokens_when_roleIsUpdated() {
+        var user = new User();
+        user.setId(1L);
+        user.setTokenVersion(3);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+
+        userService.updateUserRole(1L, Role.ADMIN);
+
+        assertThat(user.getTokenVersion()).isEqualTo(4);
+        verify(tokenRevocations).revokeBelow(1L, 4);
+    }
+
     // Ensures that the repository's delete method is called when deleting a user.
     @Test
     @DisplayName("Should call delete method of repository when deleting user")
@@ -0,0 +1,64 @@
+package com.example.taskmanager.unit;
+
+import com.example.taskmanager.datagen.ZipfDistribution;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("Unit")
+@DisplayName("Unit Tests for ZipfDistribution")
+class ZipfDistributionTest {
+
+    // Verifies that allocated counts always add up to the requested total, including the rounding leftovers.
+    @Test
+    @DisplayName("Should allocate exactly the total")
+    void should_allocateExactlyTheTotal_when_totalDoesNotDivideEvenly() {
+        long[] counts = ZipfDistribution.allocate(1_000_003, 997, 1.1);
+
+        assertThat(Arrays.stream(counts).sum()).isEqualTo(1_000_003);
+    }
+
+    // Ensures that counts never grow with rank, so rank 0 is the heaviest owner.
+    @Test
+    @DisplayName("Should allocate non-increasing counts by rank")
+    void should_allocateNonIncreasingCounts_when_exponentIsPositive() {
+        long[] counts = ZipfDistribution.allocate(100_000, 1000, 1.0);
+
+        for (int r = 1; r < counts.length; r++) {
+            assertThat(counts[r]).isLessThanOrEqualTo(counts[r - 1]);
+        }
+        // With exponent 1 the top rank holds about 1/H(1000) of everything, roughly 13%.
+        assertThat(counts[0]).isBetween(13_000L, 14_000L);
+    }
+
+    // Verifies that exponent 0 turns the distribution into an even split.
+    @Test
+    @DisplayName("Should split evenly when exponent is zero")
+    void should_splitEvenly_when_exponentIsZero() {
+        long[] counts = ZipfDistribution.allocate(10_000, 100, 0);
+
+        assertThat(counts).containsOnly(100L);
+    }
+
+    // Ensures that sampled ranks stay in range and favour the low ranks.
+    @Test
+    @DisplayName("Should sample low ranks most often")
+    void should_sampleLowRanksMostOften_when_sampling() {
+        ZipfDistribution zipf = new ZipfDistribution(10, 1.0);
+        SplittableRandom random = new SplittableRandom(1);
+        int[] hits = new int[10];
+
+        for (int i = 0; i < 100_000; i++) {
+            hits[zipf.sample(random)]++;
+        }
+
+        assertThat(hits[0]).isGreaterThan(hits[1]);
+        assertThat(hits[1]).isGreaterThan(hits[9]);
+        assertThat(Arrays.stream(hits).sum()).isEqualTo(100_000);
+    }
+}